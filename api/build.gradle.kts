@@ -7,6 +7,7 @@ plugins {
 dependencies {
     implementation(platform(libs.spring.boot.bom))
     implementation(libs.spring.boot.web)
+    implementation(libs.httpclient5)
     implementation(libs.apollo)
 }
 
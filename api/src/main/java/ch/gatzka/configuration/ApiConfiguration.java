@@ -1,15 +1,59 @@
 package ch.gatzka.configuration;
 
+import com.apollographql.java.client.ApolloClient;
+import java.util.concurrent.TimeUnit;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class ApiConfiguration {
 
   @Bean
-  public RestTemplate restTemplate(RestTemplateBuilder builder) {
+  public CloseableHttpClient httpClient() {
+    return HttpClients.custom()
+        .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+            .setMaxConnTotal(20)
+            .setMaxConnPerRoute(10)
+            .setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofSeconds(10))
+                .setTimeToLive(TimeValue.ofMinutes(5))
+                .build())
+            .build())
+        .evictIdleConnections(TimeValue.ofMinutes(1))
+        .build();
+  }
+
+  @Bean
+  public RestTemplate restTemplate(RestTemplateBuilder builder, CloseableHttpClient httpClient) {
+    return builder.requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient)).build();
+  }
+
+  @Bean
+  public OkHttpClient okHttpClient() {
+    return new OkHttpClient.Builder().connectionPool(new ConnectionPool(5, 5, TimeUnit.MINUTES))
+        .connectTimeout(10, TimeUnit.SECONDS)
+        .build();
+  }
+
+  @Bean
+  public ApolloClient apolloClient(OkHttpClient okHttpClient, @Value("${tarkov-dev.api.url}") String serverUrl,
+      @Value("${tarkov-dev.api.persisted-queries}") boolean persistedQueries) {
+    ApolloClient.Builder builder = new ApolloClient.Builder().serverUrl(serverUrl).okHttpClient(okHttpClient);
+    if (persistedQueries) {
+      builder.autoPersistedQueries();
+    }
     return builder.build();
   }
 
@@ -0,0 +1,9 @@
+package ch.gatzka.pojo;
+
+public record Fetched<V>(V data, SourceVersion version, boolean changed) {
+
+  public static <V> Fetched<V> notModified(SourceVersion version) {
+    return new Fetched<>(null, version, false);
+  }
+
+}
@@ -0,0 +1,10 @@
+package ch.gatzka.pojo;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record MarketItem(String uid, String bsgId, String name, Boolean bannedOnFlea, Integer avg24hPrice,
+                         Integer traderPrice, String traderPriceCur, String icon, String imgBig, String link,
+                         String wikiLink, String[] tags) {
+
+}
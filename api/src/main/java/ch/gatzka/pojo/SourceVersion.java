@@ -0,0 +1,5 @@
+package ch.gatzka.pojo;
+
+public record SourceVersion(String source, String etag, String lastModified, String hash, long generation) {
+
+}
@@ -2,17 +2,34 @@ package ch.gatzka.service;
 
 import ch.gatzka.FetchItemSlotsQuery;
 import ch.gatzka.FetchKeysQuery;
-import ch.gatzka.pojo.Item;
+import ch.gatzka.pojo.Fetched;
+import ch.gatzka.pojo.MarketItem;
+import ch.gatzka.pojo.SourceVersion;
 import com.apollographql.apollo.api.Query;
 import com.apollographql.java.client.ApolloClient;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collector;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
@@ -21,59 +38,143 @@ import org.springframework.web.client.RestTemplate;
 @RequiredArgsConstructor
 public class ApiService {
 
+  public static final String PVP_ITEMS = "pvp-items";
+
+  public static final String PVE_ITEMS = "pve-items";
+
+  public static final String ITEM_SLOTS = "item-slots";
+
+  public static final String KEYS = "keys";
+
   private static final String PVE_ALL_ITEMS = "https://api.tarkov-market.app/api/v1/pve/items/all?x-api-key={API_KEY}";
 
   private static final String PVP_ALL_ITEMS = "https://api.tarkov-market.app/api/v1/items/all?x-api-key={API_KEY}";
 
   private final RestTemplate restTemplate;
 
+  private final ApolloClient apolloClient;
+
   private final ObjectMapper objectMapper = new ObjectMapper();
+
+  private final Map<String, SourceVersion> versions = new ConcurrentHashMap<>();
+
+  private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
   @Value("${tarkov-market.api.key}")
   private String apiKey;
 
-  @SneakyThrows
-  private <V> V executeGet(String url, Class<V> clazz) {
-    log.info("Executing GET request to {}", url);
-    String json = restTemplate.getForObject(url, String.class, apiKey);
-    return objectMapper.readValue(json, clazz);
+  private <V, A, R> Fetched<R> executeStreamingGet(String source, String url, Class<V> clazz,
+      Collector<V, A, R> collector) {
+    log.info("Executing streaming GET request to {}", url);
+    long generation = generation(source);
+    SourceVersion previous = versions.get(source);
+    return restTemplate.execute(url, HttpMethod.GET, request -> {
+      if (previous != null && previous.etag() != null) {
+        request.getHeaders().setIfNoneMatch(previous.etag());
+      }
+      if (previous != null && previous.lastModified() != null) {
+        request.getHeaders().set(HttpHeaders.IF_MODIFIED_SINCE, previous.lastModified());
+      }
+    }, response -> {
+      if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+        log.info("{} not modified since last fetch", source);
+        return Fetched.notModified(previous);
+      }
+      MessageDigest digest = newDigest();
+      A accumulator = collector.supplier().get();
+      try (JsonParser parser = objectMapper.getFactory()
+          .createParser(new DigestInputStream(response.getBody(), digest))) {
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+          throw new IllegalStateException("Expected a JSON array from " + url);
+        }
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+          collector.accumulator().accept(accumulator, objectMapper.readValue(parser, clazz));
+        }
+      }
+      SourceVersion version = new SourceVersion(source, response.getHeaders()
+          .getETag(), response.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED), HexFormat.of()
+          .formatHex(digest.digest()), generation);
+      return new Fetched<>(collector.finisher().apply(accumulator), version, isChanged(version));
+    }, apiKey);
   }
 
-  public Item[] readPVEItems() {
-    return executeGet(PVE_ALL_ITEMS, Item[].class);
+  public <R> Fetched<R> streamPVEItems(Collector<MarketItem, ?, R> collector) {
+    return executeStreamingGet(PVE_ITEMS, PVE_ALL_ITEMS, MarketItem.class, collector);
   }
 
-  public Item[] readPVPItems() {
-    return executeGet(PVP_ALL_ITEMS, Item[].class);
+  public <R> Fetched<R> streamPVPItems(Collector<MarketItem, ?, R> collector) {
+    return executeStreamingGet(PVP_ITEMS, PVP_ALL_ITEMS, MarketItem.class, collector);
   }
 
   private <D extends Query.Data> D executeQuery(int retries, Query<D> operation) {
-    try (ApolloClient service = new ApolloClient.Builder().serverUrl("https://api.tarkov.dev/graphql").build()) {
+    for (int attempt = 0; ; attempt++) {
       CompletableFuture<D> future = new CompletableFuture<>();
       log.debug("Executing query {}", operation.name());
-      service.query(operation).enqueue(response -> {
-        if (response.exception != null || response.data == null) {
-          if (retries > 0) {
-            log.warn("Error updating data, retrying {} times", retries);
-            future.complete(executeQuery(retries - 1, operation));
-          } else {
-            log.error("Error updating data", response.exception);
-            future.completeExceptionally(response.exception);
-          }
-          return;
+      apolloClient.query(operation).enqueue(response -> {
+        if (response.exception != null) {
+          future.completeExceptionally(response.exception);
+        } else if (response.data == null) {
+          future.completeExceptionally(new IllegalStateException("Query " + operation.name() + " returned no data"));
+        } else {
+          future.complete(response.data);
         }
-        log.debug("Query {} executed successfully", operation.name());
-        future.complete(response.data);
       });
-      return future.join();
+      try {
+        D data = future.join();
+        log.debug("Query {} executed successfully", operation.name());
+        return data;
+      } catch (CompletionException e) {
+        if (attempt >= retries) {
+          log.error("Error updating data", e.getCause());
+          throw e;
+        }
+        log.warn("Error updating data, retrying {} more times", retries - attempt);
+      }
     }
   }
 
-  public List<FetchItemSlotsQuery.Item> readItemSlots() {
-    return executeQuery(5, new FetchItemSlotsQuery()).items.stream().filter(Objects::nonNull).toList();
+  private <T> Fetched<List<T>> fingerprinted(String source, long generation, List<T> items, Function<T, String> fields) {
+    MessageDigest digest = newDigest();
+    items.forEach(item -> digest.update((fields.apply(item) + "\n").getBytes(StandardCharsets.UTF_8)));
+    SourceVersion version = new SourceVersion(source, null, null, HexFormat.of().formatHex(digest.digest()), generation);
+    return new Fetched<>(items, version, isChanged(version));
   }
 
-  public List<FetchKeysQuery.Item> readKeys() {
-    return executeQuery(5, new FetchKeysQuery()).items.stream().filter(Objects::nonNull).toList();
+  public Fetched<List<FetchItemSlotsQuery.Item>> readItemSlots() {
+    long generation = generation(ITEM_SLOTS);
+    return fingerprinted(ITEM_SLOTS, generation, executeQuery(5, new FetchItemSlotsQuery()).items.stream()
+        .filter(Objects::nonNull)
+        .toList(), item -> item.id + " " + item.width + " " + item.height);
+  }
+
+  public Fetched<List<FetchKeysQuery.Item>> readKeys() {
+    long generation = generation(KEYS);
+    return fingerprinted(KEYS, generation, executeQuery(5, new FetchKeysQuery()).items.stream()
+        .filter(Objects::nonNull)
+        .toList(), item -> item.id + " " + item.properties.onItemPropertiesKey.uses);
+  }
+
+  private boolean isChanged(SourceVersion version) {
+    SourceVersion previous = versions.get(version.source());
+    return previous == null || !previous.hash().equals(version.hash());
+  }
+
+  public void acknowledge(SourceVersion version) {
+    versions.compute(version.source(), (_, current) -> generation(version.source()) == version.generation() ? version : current);
+  }
+
+  public void invalidate(String source) {
+    generations.computeIfAbsent(source, _ -> new AtomicLong()).incrementAndGet();
+    versions.remove(source);
+  }
+
+  private long generation(String source) {
+    return generations.computeIfAbsent(source, _ -> new AtomicLong()).get();
+  }
+
+  @SneakyThrows
+  private static MessageDigest newDigest() {
+    return MessageDigest.getInstance("SHA-256");
   }
 
 }
@@ -26,6 +26,9 @@ dependencies {
     developmentOnly(libs.spring.boot.devtools)
 
     runtimeOnly(libs.postgres)
+
+    testImplementation(libs.spring.boot.test)
+    testRuntimeOnly(libs.junit.platform.launcher)
 }
 
 sonar {
@@ -84,6 +87,9 @@ fun getBranchVersion(): String {
 }
 
 tasks {
+    test {
+        useJUnitPlatform()
+    }
     register("buildDockerImage") {
         dependsOn(bootJar)
         doLast {
@@ -61,6 +61,9 @@ tasks {
     compileJava {
         dependsOn(jooqCodegen)
     }
+    test {
+        useJUnitPlatform()
+    }
 }
 
 java {
@@ -80,7 +83,7 @@ jooq {
         generator {
             database {
                 name = "org.jooq.meta.postgres.PostgresDatabase"
-                excludes = "flyway_schema_history"
+                excludes = "flyway_schema_history|item_price_history_y\\d{4}m\\d{2}"
                 inputSchema = "public"
                 isIncludeSequences = true
                 isIncludeSystemSequences = true
@@ -114,7 +117,11 @@ jooq {
 dependencies {
     implementation(platform(libs.spring.boot.bom))
     implementation(libs.spring.boot.jooq)
+    implementation(libs.postgres)
     implementation(kotlin("stdlib-jdk8"))
+
+    testImplementation(libs.spring.boot.test)
+    testRuntimeOnly(libs.junit.platform.launcher)
 }
 
 buildscript {
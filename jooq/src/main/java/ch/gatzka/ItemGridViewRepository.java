@@ -1,17 +1,20 @@
 package ch.gatzka;
 
+import static ch.gatzka.Tables.ITEM;
 import static ch.gatzka.Tables.ITEM_GRID_VIEW;
+import static ch.gatzka.Tables.ITEM_TAG;
 
-import ch.gatzka.core.ViewRepository;
+import ch.gatzka.core.CachedViewRepository;
+import ch.gatzka.core.RepositoryCache;
 import ch.gatzka.tables.records.ItemGridViewRecord;
 import org.jooq.DSLContext;
 import org.springframework.stereotype.Service;
 
 @Service
-public class ItemGridViewRepository extends ViewRepository<ItemGridViewRecord> {
+public class ItemGridViewRepository extends CachedViewRepository<ItemGridViewRecord> {
 
-  protected ItemGridViewRepository(DSLContext dslContext) {
-    super(dslContext, ITEM_GRID_VIEW);
+  protected ItemGridViewRepository(DSLContext dslContext, RepositoryCache repositoryCache) {
+    super(dslContext, ITEM_GRID_VIEW, repositoryCache, ITEM, ITEM_TAG);
   }
 
 }
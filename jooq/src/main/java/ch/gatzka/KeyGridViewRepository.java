@@ -1,17 +1,21 @@
 package ch.gatzka;
 
+import static ch.gatzka.Tables.ITEM;
+import static ch.gatzka.Tables.ITEM_TAG;
+import static ch.gatzka.Tables.KEY;
 import static ch.gatzka.Tables.KEY_GRID_VIEW;
 
-import ch.gatzka.core.ViewRepository;
+import ch.gatzka.core.CachedViewRepository;
+import ch.gatzka.core.RepositoryCache;
 import ch.gatzka.tables.records.KeyGridViewRecord;
 import org.jooq.DSLContext;
 import org.springframework.stereotype.Service;
 
 @Service
-public class KeyGridViewRepository extends ViewRepository<KeyGridViewRecord> {
+public class KeyGridViewRepository extends CachedViewRepository<KeyGridViewRecord> {
 
-  protected KeyGridViewRepository(DSLContext dslContext) {
-    super(dslContext, KEY_GRID_VIEW);
+  protected KeyGridViewRepository(DSLContext dslContext, RepositoryCache repositoryCache) {
+    super(dslContext, KEY_GRID_VIEW, repositoryCache, ITEM, ITEM_TAG, KEY);
   }
 
 }
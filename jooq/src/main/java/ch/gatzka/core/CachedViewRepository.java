@@ -0,0 +1,75 @@
+package ch.gatzka.core;
+
+import java.util.Collection;
+import java.util.List;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.OrderField;
+import org.jooq.Result;
+import org.jooq.ResultQuery;
+import org.jooq.SortField;
+import org.jooq.Table;
+import org.jooq.TableRecord;
+import org.jooq.exception.TooManyRowsException;
+import org.jooq.impl.DSL;
+
+public abstract class CachedViewRepository<R extends TableRecord<R>> extends ViewRepository<R> {
+
+  private final RepositoryCache cache;
+
+  protected CachedViewRepository(DSLContext dslContext, Table<R> table, RepositoryCache cache, Table<?>... dependsOn) {
+    super(dslContext, table);
+    this.cache = cache;
+    cache.register(table, dependsOn);
+  }
+
+  @Override
+  public int count(Condition... conditions) {
+    return count(List.of(conditions));
+  }
+
+  @Override
+  public int count(Collection<Condition> conditions) {
+    return cache.get(table, dslContext.renderInlined(DSL.selectCount().from(table).where(conditions)), () -> super.count(conditions));
+  }
+
+  @Override
+  public Result<R> read() {
+    return read(List.of());
+  }
+
+  @Override
+  public Result<R> read(Condition... conditions) {
+    return read(List.of(conditions));
+  }
+
+  @Override
+  public Result<R> read(Collection<Condition> conditions) {
+    return cache.get(table, dslContext.renderInlined(DSL.selectFrom(table).where(conditions)), () -> super.read(conditions));
+  }
+
+  @Override
+  public Result<R> read(Collection<Condition> conditions, Collection<? extends OrderField<?>> orderBy, int offset, int limit) {
+    return cache.get(table, dslContext.renderInlined(DSL.selectFrom(table)
+        .where(conditions)
+        .orderBy(orderBy)
+        .limit(limit)
+        .offset(offset)), () -> super.read(conditions, orderBy, offset, limit));
+  }
+
+  @Override
+  public Result<R> seek(List<? extends SortField<?>> orderFields, Object[] lastSeenValues, int limit, Collection<Condition> conditions) {
+    ResultQuery<R> query = seekQuery(orderFields, lastSeenValues, limit, conditions);
+    return cache.get(table, dslContext.renderInlined(query), query::fetch);
+  }
+
+  @Override
+  public R get(Condition... conditions) {
+    Result<R> result = read(conditions);
+    if (result.size() > 1) {
+      throw new TooManyRowsException("Cursor returned more than one result");
+    }
+    return result.isEmpty() ? null : result.getFirst();
+  }
+
+}
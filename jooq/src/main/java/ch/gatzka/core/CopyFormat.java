@@ -0,0 +1,59 @@
+package ch.gatzka.core;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import lombok.experimental.UtilityClass;
+import org.jooq.EnumType;
+
+@UtilityClass
+class CopyFormat {
+
+  private static final String NULL = "\\N";
+
+  private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("uuuu-MM-dd HH:mm:ss.SSSSSS");
+
+  void writeRow(Writer writer, List<?> values) throws IOException {
+    for (int i = 0; i < values.size(); i++) {
+      if (i > 0) {
+        writer.write('\t');
+      }
+      Object value = values.get(i);
+      writer.write(value == null ? NULL : escape(text(value)));
+    }
+    writer.write('\n');
+  }
+
+  private String text(Object value) {
+    return switch (value) {
+      case Boolean bool -> bool ? "t" : "f";
+      case EnumType enumType -> enumType.getLiteral();
+      // toString drops zero seconds, the explicit pattern keeps every timestamp in one shape
+      case LocalDateTime timestamp -> TIMESTAMP.format(timestamp);
+      case Object[] array -> Arrays.stream(array)
+          .map(element -> element == null ? "NULL" : "\"" + text(element).replace("\\", "\\\\")
+              .replace("\"", "\\\"") + "\"")
+          .collect(Collectors.joining(",", "{", "}"));
+      default -> value.toString();
+    };
+  }
+
+  private String escape(String text) {
+    StringBuilder builder = new StringBuilder(text.length());
+    for (char c : text.toCharArray()) {
+      switch (c) {
+        case '\\' -> builder.append("\\\\");
+        case '\t' -> builder.append("\\t");
+        case '\n' -> builder.append("\\n");
+        case '\r' -> builder.append("\\r");
+        default -> builder.append(c);
+      }
+    }
+    return builder.toString();
+  }
+
+}
@@ -0,0 +1,113 @@
+package ch.gatzka.core;
+
+import ch.gatzka.Public;
+import jakarta.annotation.PostConstruct;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.DSLContext;
+import org.jooq.Table;
+import org.jooq.exception.DataAccessException;
+import org.jooq.impl.DSL;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class InvalidationBus implements DisposableBean {
+
+  private static final String CHANNEL = "tarkov_keytool_invalidation";
+
+  private static final int POLL_TIMEOUT_MILLIS = 10_000;
+
+  private static final long RECONNECT_DELAY_MILLIS = 5_000;
+
+  private final DSLContext dslContext;
+
+  private final DataSource dataSource;
+
+  private final ApplicationEventPublisher eventPublisher;
+
+  private final String nodeId = UUID.randomUUID().toString();
+
+  private volatile boolean running = true;
+
+  @PostConstruct
+  void start() {
+    Thread.ofVirtual().name("invalidation-listener").start(this::listen);
+  }
+
+  @EventListener
+  public void onTableChanged(TableChangedEvent event) {
+    if (event.remote()) {
+      return;
+    }
+    String payload = nodeId + ":" + event.tables().stream().map(Table::getName).collect(Collectors.joining(","));
+    try {
+      dslContext.execute("SELECT pg_notify({0}, {1})", DSL.val(CHANNEL), DSL.val(payload));
+    } catch (DataAccessException e) {
+      log.error("Error notifying other nodes about changes to {}", event.tables(), e);
+    }
+  }
+
+  @Override
+  public void destroy() {
+    running = false;
+  }
+
+  private void listen() {
+    while (running) {
+      try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+        statement.execute("LISTEN " + CHANNEL);
+        eventPublisher.publishEvent(new TableChangedEvent(new HashSet<>(Public.PUBLIC.getTables()), true));
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        while (running) {
+          PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+          if (notifications != null) {
+            Arrays.stream(notifications).map(PGNotification::getParameter).forEach(this::receive);
+          }
+        }
+      } catch (SQLException | RuntimeException e) {
+        if (running) {
+          log.warn("Invalidation listener failed, reconnecting in {} ms", RECONNECT_DELAY_MILLIS, e);
+          try {
+            Thread.sleep(RECONNECT_DELAY_MILLIS);
+          } catch (InterruptedException _) {
+            Thread.currentThread().interrupt();
+            return;
+          }
+        }
+      }
+    }
+  }
+
+  private void receive(String payload) {
+    int separator = payload.indexOf(':');
+    if (separator < 0 || payload.substring(0, separator).equals(nodeId)) {
+      return;
+    }
+    Set<Table<?>> tables = Arrays.stream(payload.substring(separator + 1).split(","))
+        .map(Public.PUBLIC::getTable)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toSet());
+    if (!tables.isEmpty()) {
+      log.debug("Received changes to {} from another node", tables);
+      eventPublisher.publishEvent(new TableChangedEvent(tables, true));
+    }
+  }
+
+}
@@ -1,11 +1,16 @@
 package ch.gatzka.core;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 import lombok.Getter;
 import org.jooq.Condition;
 import org.jooq.DSLContext;
 import org.jooq.OrderField;
 import org.jooq.Result;
+import org.jooq.ResultQuery;
+import org.jooq.SelectSeekStepN;
+import org.jooq.SortField;
 import org.jooq.Table;
 import org.jooq.TableRecord;
 import org.jooq.impl.DSL;
@@ -30,6 +35,10 @@ public abstract class Repository<R extends TableRecord<R>> {
     return dslContext.fetchCount(table, conditions);
   }
 
+  public int count(Collection<Condition> conditions) {
+    return dslContext.fetchCount(table, conditions);
+  }
+
   public boolean exists(Condition... conditions) {
     return dslContext.fetchExists(table, conditions);
   }
@@ -46,6 +55,40 @@ public abstract class Repository<R extends TableRecord<R>> {
     return dslContext.fetch(table, conditions);
   }
 
+  public Result<R> read(Collection<Condition> conditions, Collection<? extends OrderField<?>> orderBy, int offset, int limit) {
+    return dslContext.selectFrom(table).where(conditions).orderBy(orderBy).limit(limit).offset(offset).fetch();
+  }
+
+  public Result<R> seek(List<? extends SortField<?>> orderFields, Object[] lastSeenValues, int limit, Condition... conditions) {
+    return seek(orderFields, lastSeenValues, limit, List.of(conditions));
+  }
+
+  public Result<R> seek(List<? extends SortField<?>> orderFields, Object[] lastSeenValues, int limit, Collection<Condition> conditions) {
+    return seekQuery(orderFields, lastSeenValues, limit, conditions).fetch();
+  }
+
+  protected ResultQuery<R> seekQuery(List<? extends SortField<?>> orderFields, Object[] lastSeenValues, int limit, Collection<Condition> conditions) {
+    SelectSeekStepN<R> select = dslContext.selectFrom(table).where(conditions).orderBy(orderFields);
+    if (lastSeenValues == null) {
+      return select.limit(limit);
+    }
+    return select.seek(lastSeenValues).limit(limit);
+  }
+
+  public Stream<Result<R>> seekPages(List<? extends SortField<?>> orderFields, int pageSize, Condition... conditions) {
+    List<Condition> where = List.of(conditions);
+    return Stream.iterate(seekQuery(orderFields, null, pageSize, where).fetch(), page -> !page.isEmpty(),
+        page -> page.size() < pageSize ? dslContext.newResult(table) : seekQuery(orderFields, seekValues(orderFields, page.getLast()), pageSize, where).fetch());
+  }
+
+  public Stream<R> seekAll(List<? extends SortField<?>> orderFields, int pageSize, Condition... conditions) {
+    return seekPages(orderFields, pageSize, conditions).flatMap(Result::stream);
+  }
+
+  public Object[] seekValues(List<? extends SortField<?>> orderFields, R record) {
+    return orderFields.stream().map(field -> record.get(field.getName())).toArray();
+  }
+
   public R get(Condition... conditions) {
     return dslContext.selectFrom(table).where(conditions).fetchOne();
   }
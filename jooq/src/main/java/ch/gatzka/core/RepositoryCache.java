@@ -0,0 +1,125 @@
+package ch.gatzka.core;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.jooq.Table;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+@Service
+public class RepositoryCache {
+
+  private final Map<Table<?>, Set<Table<?>>> dependencies = new ConcurrentHashMap<>();
+
+  private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+  private final LongAdder hits = new LongAdder();
+
+  private final LongAdder misses = new LongAdder();
+
+  private final LongAdder evictions = new LongAdder();
+
+  private final long maxRows;
+
+  private final long maxAgeMillis;
+
+  private long rows;
+
+  private long generation;
+
+  public RepositoryCache(@Value("${tarkov-keytool.cache.max-rows}") long maxRows,
+      @Value("${tarkov-keytool.cache.max-age}") Duration maxAge) {
+    this.maxRows = maxRows;
+    this.maxAgeMillis = maxAge.toMillis();
+  }
+
+  public void register(Table<?> table, Table<?>... dependsOn) {
+    dependencies.put(table, Stream.concat(Stream.of(table), Stream.of(dependsOn)).collect(Collectors.toUnmodifiableSet()));
+  }
+
+  @SuppressWarnings("unchecked")
+  public <V> V get(Table<?> table, String query, Supplier<V> loader) {
+    Key key = new Key(table, query);
+    long loadedGeneration;
+    synchronized (this) {
+      Entry entry = entries.get(key);
+      if (entry != null && System.currentTimeMillis() - entry.loadedAt() < maxAgeMillis) {
+        hits.increment();
+        return (V) entry.value();
+      }
+      loadedGeneration = generation;
+    }
+    misses.increment();
+    V value = loader.get();
+    put(key, value, loadedGeneration);
+    return value;
+  }
+
+  @EventListener
+  public void onTableChanged(TableChangedEvent event) {
+    invalidate(event.tables());
+  }
+
+  public synchronized void invalidate(Collection<? extends Table<?>> tables) {
+    generation++;
+    Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<Key, Entry> entry = iterator.next();
+      if (!Collections.disjoint(dependencies.getOrDefault(entry.getKey().table(), Set.of(entry.getKey().table())), tables)) {
+        rows -= entry.getValue().weight();
+        iterator.remove();
+      }
+    }
+  }
+
+  public long getHits() {
+    return hits.sum();
+  }
+
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  public long getEvictions() {
+    return evictions.sum();
+  }
+
+  public synchronized long getRows() {
+    return rows;
+  }
+
+  private synchronized void put(Key key, Object value, long loadedGeneration) {
+    if (loadedGeneration != generation) {
+      return;
+    }
+    long weight = value instanceof Collection<?> collection ? Math.max(1, collection.size()) : 1;
+    Entry previous = entries.put(key, new Entry(value, weight, System.currentTimeMillis()));
+    rows += weight - (previous == null ? 0 : previous.weight());
+    Iterator<Entry> eldest = entries.values().iterator();
+    while (rows > maxRows && eldest.hasNext()) {
+      rows -= eldest.next().weight();
+      eldest.remove();
+      evictions.increment();
+    }
+  }
+
+  private record Key(Table<?> table, String query) {
+
+  }
+
+  private record Entry(Object value, long weight, long loadedAt) {
+
+  }
+
+}
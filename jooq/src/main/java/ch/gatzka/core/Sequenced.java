@@ -1,7 +1,11 @@
 package ch.gatzka.core;
 
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 import java.util.function.UnaryOperator;
 import org.jooq.DSLContext;
+import org.jooq.InsertSetMoreStep;
 import org.jooq.Table;
 import org.jooq.TableField;
 import org.jooq.UpdatableRecord;
@@ -15,6 +19,18 @@ public interface Sequenced<R extends UpdatableRecord<R>, I extends Number> {
         .fetchSingle(getSequencedField());
   }
 
+  default List<I> insertAllWithId(Collection<R> records) {
+    if (records.isEmpty()) {
+      return List.of();
+    }
+    Iterator<R> iterator = records.iterator();
+    InsertSetMoreStep<R> insert = getDslContext().insertInto(getTable()).set(iterator.next());
+    while (iterator.hasNext()) {
+      insert = insert.newRecord().set(iterator.next());
+    }
+    return insert.returningResult(getSequencedField()).fetch(getSequencedField());
+  }
+
   default void deleteById(I id) {
     getSelf().delete(getSequencedField().eq(id));
   }
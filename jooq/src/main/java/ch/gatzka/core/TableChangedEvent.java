@@ -0,0 +1,12 @@
+package ch.gatzka.core;
+
+import java.util.Set;
+import org.jooq.Table;
+
+public record TableChangedEvent(Set<Table<?>> tables, boolean remote) {
+
+  public TableChangedEvent(Table<?>... tables) {
+    this(Set.of(tables), false);
+  }
+
+}
@@ -1,16 +1,39 @@
 package ch.gatzka.core;
 
+import static org.jooq.impl.DSL.excluded;
+import static org.jooq.impl.DSL.row;
+
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.function.UnaryOperator;
 import lombok.Getter;
 import org.jooq.Condition;
 import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.InsertReturningStep;
+import org.jooq.InsertValuesStepN;
+import org.jooq.Name;
+import org.jooq.Query;
 import org.jooq.Table;
 import org.jooq.UpdatableRecord;
+import org.jooq.impl.DSL;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
 
 @Getter
 public abstract class TableRepository<R extends UpdatableRecord<R>> extends Repository<R> {
 
+  private static final int CHUNK_SIZE = 1000;
+
+  private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
   protected TableRepository<R> self;
 
   protected TableRepository(DSLContext dslContext, Table<R> table) {
@@ -22,12 +45,98 @@ public abstract class TableRepository<R extends UpdatableRecord<R>> extends Repo
     return dslContext.insertInto(table).set(mapping.apply(dslContext.newRecord(table))).execute();
   }
 
+  public int insertAll(Collection<R> records) {
+    if (records.isEmpty()) {
+      return 0;
+    }
+    List<Field<?>> fields = changedFields(records);
+    List<Field<?>> stagedFields = fields.stream().<Field<?>>map(field -> DSL.field(DSL.name(field.getName()))).toList();
+    Name staging = DSL.name("staging_" + table.getName() + "_" + Long.toHexString(System.nanoTime()));
+
+    return dslContext.transactionResult(configuration -> {
+      DSLContext transaction = configuration.dsl();
+      transaction.execute("CREATE TEMPORARY TABLE {0} ON COMMIT DROP AS SELECT {1} FROM {2} WITH NO DATA", staging, DSL.list(fields), table);
+
+      String copy = transaction.render(DSL.query("COPY {0} ({1}) FROM STDIN", staging, DSL.list(stagedFields)));
+      transaction.connection(connection -> {
+        try (Writer writer = new OutputStreamWriter(new PGCopyOutputStream(connection.unwrap(PGConnection.class), copy, COPY_BUFFER_SIZE), StandardCharsets.UTF_8)) {
+          for (R record : records) {
+            CopyFormat.writeRow(writer, fields.stream().map(record::get).toList());
+          }
+        }
+      });
+
+      return transaction.insertInto(table, fields).select(DSL.select(stagedFields).from(DSL.table(staging))).onConflictDoNothing().execute();
+    });
+  }
+
   public int update(UnaryOperator<R> mapping, Condition... conditions) {
     return Arrays.stream(dslContext.batchUpdate(read(conditions).map(mapping::apply)).execute()).sum();
   }
 
+  public int updateWhere(UnaryOperator<R> mapping, Condition... conditions) {
+    return dslContext.update(table).set(mapping.apply(dslContext.newRecord(table))).where(conditions).execute();
+  }
+
+  public int upsertAll(Collection<R> records, Field<?>... conflictFields) {
+    return upsertAll(records, List.of(conflictFields), Map.of());
+  }
+
+  protected int upsertAll(Collection<R> records, List<Field<?>> conflictFields,
+      Map<Field<?>, Field<?>> updateOverrides) {
+    return upserts(records, conflictFields, updateOverrides).stream().mapToInt(Query::execute).sum();
+  }
+
+  protected <T> List<T> upsertAll(Collection<R> records, List<Field<?>> conflictFields,
+      Map<Field<?>, Field<?>> updateOverrides, Field<T> returning) {
+    return upserts(records, conflictFields, updateOverrides).stream()
+        .flatMap(upsert -> upsert.returningResult(returning).fetch(returning).stream())
+        .toList();
+  }
+
+  private List<InsertReturningStep<R>> upserts(Collection<R> records, List<Field<?>> conflictFields,
+      Map<Field<?>, Field<?>> updateOverrides) {
+    if (records.isEmpty()) {
+      return List.of();
+    }
+    List<Field<?>> fields = changedFields(records);
+    Map<Field<?>, Field<?>> updates = new LinkedHashMap<>();
+    fields.stream()
+        .filter(field -> !conflictFields.contains(field))
+        .forEach(field -> updates.put(field, updateOverrides.getOrDefault(field, excluded(field))));
+
+    List<InsertReturningStep<R>> upserts = new ArrayList<>();
+    List<R> list = new ArrayList<>(records);
+    for (int from = 0; from < list.size(); from += CHUNK_SIZE) {
+      InsertValuesStepN<R> insert = dslContext.insertInto(table, fields);
+      for (R record : list.subList(from, Math.min(from + CHUNK_SIZE, list.size()))) {
+        insert = insert.values(fields.stream().map(record::get).toList());
+      }
+      if (updates.isEmpty()) {
+        upserts.add(insert.onConflict(conflictFields).doNothing());
+      } else {
+        upserts.add(insert.onConflict(conflictFields)
+            .doUpdate()
+            .set(updates)
+            .where(row(updates.keySet()).isDistinctFrom(row(updates.values()))));
+      }
+    }
+    return upserts;
+  }
+
+  public void lockForWrite() {
+    // serializes writers for the rest of the transaction without blocking readers
+    dslContext.execute("LOCK TABLE {0} IN SHARE ROW EXCLUSIVE MODE", table);
+  }
+
   public int delete(Condition... conditions) {
     return dslContext.deleteFrom(table).where(conditions).execute();
   }
 
+  private List<Field<?>> changedFields(Collection<R> records) {
+    return Arrays.stream(table.fields())
+        .filter(field -> records.stream().anyMatch(record -> record.changed(field)))
+        .toList();
+  }
+
 }
@@ -0,0 +1,65 @@
+package ch.gatzka.table;
+
+import static ch.gatzka.Tables.ITEM_PRICE_HISTORY;
+
+import ch.gatzka.core.TableRepository;
+import ch.gatzka.enums.GameMode;
+import ch.gatzka.tables.records.ItemPriceHistoryRecord;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.jooq.DSLContext;
+import org.jooq.Result;
+import org.jooq.impl.DSL;
+import org.springframework.stereotype.Service;
+
+@Service
+public class ItemPriceHistoryRepository extends TableRepository<ItemPriceHistoryRecord> {
+
+  protected ItemPriceHistoryRepository(DSLContext dslContext) {
+    super(dslContext, ITEM_PRICE_HISTORY);
+  }
+
+  public int recordChanges(GameMode gameMode, LocalDateTime recordedAt, Map<Integer, Integer> before,
+      Map<Integer, Integer> after) {
+    List<ItemPriceHistoryRecord> changes = after.entrySet()
+        .stream()
+        .filter(entry -> !before.containsKey(entry.getKey()) || !Objects.equals(before.get(entry.getKey()), entry.getValue()))
+        .map(entry -> new ItemPriceHistoryRecord().setItemId(entry.getKey())
+            .setGameMode(gameMode)
+            .setRecordedAt(recordedAt)
+            .setFleaPrice(entry.getValue()))
+        .toList();
+    if (changes.isEmpty()) {
+      return 0;
+    }
+    dslContext.execute("SELECT ensure_item_price_history_partition({0})", DSL.val(recordedAt));
+    return insertAll(changes);
+  }
+
+  public Integer getFleaPriceAsOf(int itemId, GameMode gameMode, LocalDateTime asOf) {
+    return dslContext.select(ITEM_PRICE_HISTORY.FLEA_PRICE)
+        .from(ITEM_PRICE_HISTORY)
+        .where(ITEM_PRICE_HISTORY.ITEM_ID.eq(itemId), ITEM_PRICE_HISTORY.GAME_MODE.eq(gameMode), ITEM_PRICE_HISTORY.RECORDED_AT.le(asOf))
+        .orderBy(ITEM_PRICE_HISTORY.RECORDED_AT.desc())
+        .limit(1)
+        .fetchOne(ITEM_PRICE_HISTORY.FLEA_PRICE);
+  }
+
+  public Map<Integer, Integer> readFleaPricesAsOf(Collection<Integer> itemIds, GameMode gameMode, LocalDateTime asOf) {
+    return dslContext.selectDistinct(ITEM_PRICE_HISTORY.ITEM_ID, ITEM_PRICE_HISTORY.FLEA_PRICE)
+        .on(ITEM_PRICE_HISTORY.ITEM_ID)
+        .from(ITEM_PRICE_HISTORY)
+        .where(ITEM_PRICE_HISTORY.ITEM_ID.in(itemIds), ITEM_PRICE_HISTORY.GAME_MODE.eq(gameMode), ITEM_PRICE_HISTORY.RECORDED_AT.le(asOf))
+        .orderBy(ITEM_PRICE_HISTORY.ITEM_ID, ITEM_PRICE_HISTORY.RECORDED_AT.desc())
+        .fetchMap(ITEM_PRICE_HISTORY.ITEM_ID, ITEM_PRICE_HISTORY.FLEA_PRICE);
+  }
+
+  public Result<ItemPriceHistoryRecord> readHistory(int itemId, GameMode gameMode, LocalDateTime from, LocalDateTime to) {
+    return read(List.of(ITEM_PRICE_HISTORY.ITEM_ID.eq(itemId), ITEM_PRICE_HISTORY.GAME_MODE.eq(gameMode),
+        ITEM_PRICE_HISTORY.RECORDED_AT.between(from, to)), List.of(ITEM_PRICE_HISTORY.RECORDED_AT.asc()), 0, Integer.MAX_VALUE);
+  }
+
+}
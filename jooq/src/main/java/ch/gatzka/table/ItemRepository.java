@@ -1,21 +1,107 @@
 package ch.gatzka.table;
 
 import static ch.gatzka.tables.ItemTable.ITEM;
+import static org.jooq.impl.DSL.coalesce;
+import static org.jooq.impl.DSL.excluded;
+import static org.jooq.impl.DSL.greatest;
+import static org.jooq.impl.DSL.row;
+import static org.jooq.impl.DSL.when;
 
 import ch.gatzka.core.Sequenced;
 import ch.gatzka.core.TableRepository;
+import ch.gatzka.enums.Currency;
+import ch.gatzka.enums.GameMode;
 import ch.gatzka.tables.records.ItemRecord;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record3;
+import org.jooq.Row3;
+import org.jooq.Table;
 import org.jooq.TableField;
+import org.jooq.impl.DSL;
 import org.springframework.stereotype.Service;
 
 @Service
 public class ItemRepository extends TableRepository<ItemRecord> implements Sequenced<ItemRecord, Integer> {
 
+  public static final String DOLLAR_TARKOV_ID = "5696686a4bdc2da3298b456a";
+
+  public static final String EURO_TARKOV_ID = "569668774bdc2da2298b4568";
+
   protected ItemRepository(DSLContext dslContext) {
     super(dslContext, ITEM);
   }
 
+  public List<Boolean> upsertMarketData(Collection<ItemRecord> records) {
+    return upsertAll(records, List.of(ITEM.TARKOV_ID), Map.of(
+        ITEM.PVP_BANNED_ON_FLEA, coalesce(excluded(ITEM.PVP_BANNED_ON_FLEA), ITEM.PVP_BANNED_ON_FLEA),
+        ITEM.PVP_FLEA_PRICE, when(excluded(ITEM.PVP_BANNED_ON_FLEA).isNull(), ITEM.PVP_FLEA_PRICE).otherwise(excluded(ITEM.PVP_FLEA_PRICE)),
+        ITEM.PVE_BANNED_ON_FLEA, coalesce(excluded(ITEM.PVE_BANNED_ON_FLEA), ITEM.PVE_BANNED_ON_FLEA),
+        ITEM.PVE_FLEA_PRICE, when(excluded(ITEM.PVE_BANNED_ON_FLEA).isNull(), ITEM.PVE_FLEA_PRICE).otherwise(excluded(ITEM.PVE_FLEA_PRICE))), DSL.field("xmax = 0", Boolean.class));
+  }
+
+  @SuppressWarnings("unchecked")
+  public int updateSlots(Collection<ItemRecord> records) {
+    if (records.isEmpty()) {
+      return 0;
+    }
+    Row3<String, Integer, Integer>[] rows = records.stream()
+        .map(record -> row(record.getTarkovId(), record.getHorizontalSlots(), record.getVerticalSlots()))
+        .toArray(Row3[]::new);
+    Table<Record3<String, Integer, Integer>> slots = DSL.values(rows)
+        .as("slots", "tarkov_id", "horizontal_slots", "vertical_slots");
+    Field<Integer> horizontalSlots = slots.field("horizontal_slots", Integer.class);
+    Field<Integer> verticalSlots = slots.field("vertical_slots", Integer.class);
+
+    return dslContext.update(ITEM)
+        .set(ITEM.HORIZONTAL_SLOTS, horizontalSlots)
+        .set(ITEM.VERTICAL_SLOTS, verticalSlots)
+        .from(slots)
+        .where(ITEM.TARKOV_ID.eq(slots.field("tarkov_id", String.class)))
+        .and(row(ITEM.HORIZONTAL_SLOTS, ITEM.VERTICAL_SLOTS).isDistinctFrom(horizontalSlots, verticalSlots))
+        .execute();
+  }
+
+  public Map<String, Integer> readIds() {
+    return dslContext.select(ITEM.TARKOV_ID, ITEM.ID).from(ITEM).fetchMap(ITEM.TARKOV_ID, ITEM.ID);
+  }
+
+  public Map<String, Integer> readCurrencyRates() {
+    return dslContext.select(ITEM.TARKOV_ID, ITEM.TRADER_PRICE)
+        .from(ITEM)
+        .where(ITEM.TARKOV_ID.in(DOLLAR_TARKOV_ID, EURO_TARKOV_ID))
+        .fetchMap(ITEM.TARKOV_ID, ITEM.TRADER_PRICE);
+  }
+
+  public Map<Integer, Integer> readFleaPrices(GameMode gameMode) {
+    TableField<ItemRecord, Integer> fleaPrice = gameMode == GameMode.PVP ? ITEM.PVP_FLEA_PRICE : ITEM.PVE_FLEA_PRICE;
+    return dslContext.select(ITEM.ID, fleaPrice).from(ITEM).fetchMap(ITEM.ID, fleaPrice);
+  }
+
+  public List<Integer> refreshValues() {
+    Map<String, Integer> rates = readCurrencyRates();
+    Field<Integer> traderValue = ITEM.TRADER_PRICE.times(DSL.case_(ITEM.TRADER_CURRENCY)
+        .when(Currency.$, DSL.val(rates.get(DOLLAR_TARKOV_ID), Integer.class))
+        .when(Currency.€, DSL.val(rates.get(EURO_TARKOV_ID), Integer.class))
+        .else_(DSL.inline(1)));
+    Field<Integer> pvpValue = value(traderValue, ITEM.PVP_BANNED_ON_FLEA, ITEM.PVP_FLEA_PRICE);
+    Field<Integer> pveValue = value(traderValue, ITEM.PVE_BANNED_ON_FLEA, ITEM.PVE_FLEA_PRICE);
+
+    return dslContext.update(ITEM)
+        .set(ITEM.PVP_VALUE, pvpValue)
+        .set(ITEM.PVE_VALUE, pveValue)
+        .where(row(ITEM.PVP_VALUE, ITEM.PVE_VALUE).isDistinctFrom(pvpValue, pveValue))
+        .returning(ITEM.ID)
+        .fetch(ITEM.ID);
+  }
+
+  private Field<Integer> value(Field<Integer> traderValue, Field<Boolean> bannedOnFlea, Field<Integer> fleaPrice) {
+    return when(bannedOnFlea.isTrue(), traderValue).otherwise(greatest(coalesce(fleaPrice, DSL.inline(0)), traderValue));
+  }
+
   @Override
   public TableField<ItemRecord, Integer> getSequencedField() {
     return ITEM.ID;
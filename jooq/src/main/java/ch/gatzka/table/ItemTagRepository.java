@@ -0,0 +1,40 @@
+package ch.gatzka.table;
+
+import static ch.gatzka.Tables.ITEM_TAG;
+import static org.jooq.impl.DSL.row;
+
+import ch.gatzka.core.TableRepository;
+import ch.gatzka.tables.records.ItemTagRecord;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import org.jooq.DSLContext;
+import org.springframework.stereotype.Service;
+
+@Service
+public class ItemTagRepository extends TableRepository<ItemTagRecord> {
+
+  protected ItemTagRepository(DSLContext dslContext) {
+    super(dslContext, ITEM_TAG);
+  }
+
+  public Map<Integer, Set<Short>> readTagIds() {
+    Map<Integer, Set<Short>> tagIds = new HashMap<>();
+    dslContext.select(ITEM_TAG.ITEM_ID, ITEM_TAG.TAG_ID)
+        .from(ITEM_TAG)
+        .forEach(record -> tagIds.computeIfAbsent(record.value1(), _ -> new HashSet<>()).add(record.value2()));
+    return tagIds;
+  }
+
+  public int deleteAll(Collection<ItemTagRecord> records) {
+    if (records.isEmpty()) {
+      return 0;
+    }
+    return dslContext.deleteFrom(ITEM_TAG)
+        .where(row(ITEM_TAG.ITEM_ID, ITEM_TAG.TAG_ID).in(records.stream().map(record -> row(record.getItemId(), record.getTagId())).toList()))
+        .execute();
+  }
+
+}
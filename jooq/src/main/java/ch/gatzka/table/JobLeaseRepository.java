@@ -0,0 +1,73 @@
+package ch.gatzka.table;
+
+import static ch.gatzka.Tables.JOB_LEASE;
+import static org.jooq.impl.DSL.excluded;
+
+import ch.gatzka.core.TableRepository;
+import ch.gatzka.tables.records.JobLeaseRecord;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.impl.DSL;
+import org.jooq.types.DayToSecond;
+import org.springframework.stereotype.Service;
+
+@Service
+public class JobLeaseRepository extends TableRepository<JobLeaseRecord> {
+
+  protected JobLeaseRepository(DSLContext dslContext) {
+    super(dslContext, JOB_LEASE);
+  }
+
+  public boolean runLeased(String job, String holder, Duration minimumGap, Duration timeout, Runnable task) {
+    if (!claim(job, holder, minimumGap, timeout)) {
+      return false;
+    }
+    long start = System.currentTimeMillis();
+    try {
+      task.run();
+    } finally {
+      dslContext.update(JOB_LEASE)
+          .set(JOB_LEASE.RELEASED_AT, DSL.currentLocalDateTime())
+          .set(JOB_LEASE.DURATION_MS, System.currentTimeMillis() - start)
+          .where(JOB_LEASE.JOB.eq(job), JOB_LEASE.HOLDER.eq(holder))
+          .execute();
+    }
+    return true;
+  }
+
+  // the transaction scoped advisory lock serializes claims and ends with the commit, so no connection is held while the task runs
+  private boolean claim(String job, String holder, Duration minimumGap, Duration timeout) {
+    return Boolean.TRUE.equals(dslContext.transactionResult(configuration -> {
+      DSLContext transaction = configuration.dsl();
+      if (!transaction.select(DSL.field("pg_try_advisory_xact_lock(hashtext({0}))", Boolean.class, DSL.val(job))).fetchSingle().value1()) {
+        return false;
+      }
+      return transaction.insertInto(JOB_LEASE)
+          .set(JOB_LEASE.JOB, job)
+          .set(JOB_LEASE.HOLDER, holder)
+          .set(JOB_LEASE.ACQUIRED_AT, DSL.currentLocalDateTime())
+          .onConflict(JOB_LEASE.JOB)
+          .doUpdate()
+          .set(JOB_LEASE.HOLDER, excluded(JOB_LEASE.HOLDER))
+          .set(JOB_LEASE.ACQUIRED_AT, excluded(JOB_LEASE.ACQUIRED_AT))
+          .setNull(JOB_LEASE.RELEASED_AT)
+          .setNull(JOB_LEASE.DURATION_MS)
+          .where(JOB_LEASE.ACQUIRED_AT.lt(ago(minimumGap)))
+          .and(JOB_LEASE.RELEASED_AT.isNotNull().or(JOB_LEASE.ACQUIRED_AT.lt(ago(timeout))))
+          .returning(JOB_LEASE.JOB)
+          .fetchOptional()
+          .isPresent();
+    }));
+  }
+
+  private static Field<LocalDateTime> ago(Duration duration) {
+    return DSL.currentLocalDateTime().minus(DayToSecond.valueOf(duration));
+  }
+
+  public JobLeaseRecord getLease(String job) {
+    return get(JOB_LEASE.JOB.eq(job));
+  }
+
+}
@@ -5,6 +5,9 @@ import static ch.gatzka.Tables.KEY_REPORT;
 import ch.gatzka.core.Sequenced;
 import ch.gatzka.core.TableRepository;
 import ch.gatzka.tables.records.KeyReportRecord;
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
 import org.jooq.DSLContext;
 import org.jooq.TableField;
 import org.springframework.stereotype.Service;
@@ -16,6 +19,13 @@ public class KeyReportRepository extends TableRepository<KeyReportRecord> implem
     super(dslContext, KEY_REPORT);
   }
 
+  public Set<UUID> readSubmitted(Collection<UUID> submissionIds) {
+    return dslContext.select(KEY_REPORT.SUBMISSION_ID)
+        .from(KEY_REPORT)
+        .where(KEY_REPORT.SUBMISSION_ID.in(submissionIds))
+        .fetchSet(KEY_REPORT.SUBMISSION_ID);
+  }
+
   @Override
   public TableField<KeyReportRecord, Integer> getSequencedField() {
     return KEY_REPORT.ID;
@@ -0,0 +1,53 @@
+package ch.gatzka.table;
+
+import static ch.gatzka.Tables.KEY_REPORT_SUMMARY;
+import static ch.gatzka.Tables.LOOT_REPORT;
+import static org.jooq.impl.DSL.excluded;
+import static org.jooq.impl.DSL.row;
+
+import ch.gatzka.core.TableRepository;
+import ch.gatzka.tables.records.KeyReportSummaryRecord;
+import java.util.Collection;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.springframework.stereotype.Service;
+
+@Service
+public class KeyReportSummaryRepository extends TableRepository<KeyReportSummaryRecord> {
+
+  protected KeyReportSummaryRepository(DSLContext dslContext) {
+    super(dslContext, KEY_REPORT_SUMMARY);
+  }
+
+  public int refreshReport(int keyReportId) {
+    return refresh(LOOT_REPORT.KEY_REPORT_ID.eq(keyReportId));
+  }
+
+  public int refreshReports(Collection<Integer> keyReportIds) {
+    if (keyReportIds.isEmpty()) {
+      return 0;
+    }
+    return refresh(LOOT_REPORT.KEY_REPORT_ID.in(keyReportIds));
+  }
+
+  private int refresh(Condition keyReports) {
+    return dslContext.insertInto(KEY_REPORT_SUMMARY, KEY_REPORT_SUMMARY.KEY_REPORT_ID, KEY_REPORT_SUMMARY.VALUE,
+            KEY_REPORT_SUMMARY.ITEM_COUNT, KEY_REPORT_SUMMARY.LOOT_COUNT)
+        .select(DSL.select(LOOT_REPORT.KEY_REPORT_ID, DSL.sum(LOOT_REPORT.VALUE.times(LOOT_REPORT.COUNT)).cast(Long.class),
+                DSL.sum(LOOT_REPORT.COUNT).cast(Long.class), DSL.count())
+            .from(LOOT_REPORT)
+            .where(keyReports)
+            .groupBy(LOOT_REPORT.KEY_REPORT_ID))
+        .onConflict(KEY_REPORT_SUMMARY.KEY_REPORT_ID)
+        .doUpdate()
+        .set(KEY_REPORT_SUMMARY.VALUE, excluded(KEY_REPORT_SUMMARY.VALUE))
+        .set(KEY_REPORT_SUMMARY.ITEM_COUNT, excluded(KEY_REPORT_SUMMARY.ITEM_COUNT))
+        .set(KEY_REPORT_SUMMARY.LOOT_COUNT, excluded(KEY_REPORT_SUMMARY.LOOT_COUNT))
+        .where(row(KEY_REPORT_SUMMARY.VALUE, KEY_REPORT_SUMMARY.ITEM_COUNT, KEY_REPORT_SUMMARY.LOOT_COUNT)
+            .isDistinctFrom(excluded(KEY_REPORT_SUMMARY.VALUE), excluded(KEY_REPORT_SUMMARY.ITEM_COUNT),
+                excluded(KEY_REPORT_SUMMARY.LOOT_COUNT)))
+        .execute();
+  }
+
+}
@@ -1,10 +1,19 @@
 package ch.gatzka.table;
 
+import static ch.gatzka.Tables.ITEM;
 import static ch.gatzka.Tables.KEY;
+import static org.jooq.impl.DSL.excluded;
+import static org.jooq.impl.DSL.row;
 
 import ch.gatzka.core.TableRepository;
 import ch.gatzka.tables.records.KeyRecord;
+import java.util.Map;
 import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record2;
+import org.jooq.Row2;
+import org.jooq.Table;
+import org.jooq.impl.DSL;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -14,4 +23,29 @@ public class KeyRepository extends TableRepository<KeyRecord> {
     super(dslContext, KEY);
   }
 
+  public Map<Integer, Integer> readUses() {
+    return dslContext.select(KEY.ITEM_ID, KEY.USES).from(KEY).fetchMap(KEY.ITEM_ID, KEY.USES);
+  }
+
+  @SuppressWarnings("unchecked")
+  public int upsertUses(Map<String, Integer> usesByTarkovId) {
+    if (usesByTarkovId.isEmpty()) {
+      return 0;
+    }
+    Row2<String, Integer>[] rows = usesByTarkovId.entrySet()
+        .stream()
+        .map(entry -> row(entry.getKey(), entry.getValue()))
+        .toArray(Row2[]::new);
+    Table<Record2<String, Integer>> keys = DSL.values(rows).as("keys", "tarkov_id", "uses");
+    Field<Integer> uses = keys.field("uses", Integer.class);
+
+    return dslContext.insertInto(KEY, KEY.ITEM_ID, KEY.USES)
+        .select(DSL.select(ITEM.ID, uses).from(keys, ITEM).where(ITEM.TARKOV_ID.eq(keys.field("tarkov_id", String.class))))
+        .onConflict(KEY.ITEM_ID)
+        .doUpdate()
+        .set(KEY.USES, excluded(KEY.USES))
+        .where(KEY.USES.ne(excluded(KEY.USES)))
+        .execute();
+  }
+
 }
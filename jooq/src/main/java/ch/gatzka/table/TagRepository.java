@@ -0,0 +1,39 @@
+package ch.gatzka.table;
+
+import static ch.gatzka.Tables.TAG;
+
+import ch.gatzka.core.TableRepository;
+import ch.gatzka.tables.records.TagRecord;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.jooq.DSLContext;
+import org.springframework.stereotype.Service;
+
+@Service
+public class TagRepository extends TableRepository<TagRecord> {
+
+  protected TagRepository(DSLContext dslContext) {
+    super(dslContext, TAG);
+  }
+
+  public Map<String, Short> insertMissing(Collection<String> names) {
+    Map<String, Short> ids = new HashMap<>(readIds(names));
+    List<TagRecord> missing = names.stream().distinct().filter(name -> !ids.containsKey(name)).map(name -> new TagRecord().setName(name)).toList();
+    if (!missing.isEmpty()) {
+      upsertAll(missing, TAG.NAME);
+      ids.putAll(readIds(missing.stream().map(TagRecord::getName).toList()));
+    }
+    return ids;
+  }
+
+  private Map<String, Short> readIds(Collection<String> names) {
+    return dslContext.select(TAG.NAME, TAG.ID).from(TAG).where(TAG.NAME.in(names)).fetchMap(TAG.NAME, TAG.ID);
+  }
+
+  public Map<Short, String> readNames() {
+    return dslContext.select(TAG.ID, TAG.NAME).from(TAG).fetchMap(TAG.ID, TAG.NAME);
+  }
+
+}
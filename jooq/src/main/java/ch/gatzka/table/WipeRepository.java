@@ -2,6 +2,7 @@ package ch.gatzka.table;
 
 import static ch.gatzka.Tables.WIPE;
 
+import ch.gatzka.core.RepositoryCache;
 import ch.gatzka.core.TableRepository;
 import ch.gatzka.tables.records.WipeRecord;
 import org.jooq.DSLContext;
@@ -10,12 +11,15 @@ import org.springframework.stereotype.Service;
 @Service
 public class WipeRepository extends TableRepository<WipeRecord> {
 
-  protected WipeRepository(DSLContext dslContext) {
+  private final RepositoryCache repositoryCache;
+
+  protected WipeRepository(DSLContext dslContext, RepositoryCache repositoryCache) {
     super(dslContext, WIPE);
+    this.repositoryCache = repositoryCache;
   }
 
   public WipeRecord getLatestWipe() {
-    return dslContext.selectFrom(WIPE).orderBy(WIPE.ID.desc()).limit(1).fetchSingle();
+    return repositoryCache.get(WIPE, "latest", () -> dslContext.selectFrom(WIPE).orderBy(WIPE.ID.desc()).limit(1).fetchSingle());
   }
 
 }
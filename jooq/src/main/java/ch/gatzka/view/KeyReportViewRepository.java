@@ -1,17 +1,27 @@
 package ch.gatzka.view;
 
+import static ch.gatzka.Tables.ITEM;
+import static ch.gatzka.Tables.ITEM_TAG;
+import static ch.gatzka.Tables.KEY;
+import static ch.gatzka.Tables.KEY_REPORT;
+import static ch.gatzka.Tables.KEY_REPORT_SUMMARY;
 import static ch.gatzka.Tables.KEY_REPORT_VIEW;
 
-import ch.gatzka.core.ViewRepository;
+import ch.gatzka.core.CachedViewRepository;
+import ch.gatzka.core.RepositoryCache;
 import ch.gatzka.tables.records.KeyReportViewRecord;
+import java.util.List;
 import org.jooq.DSLContext;
+import org.jooq.SortField;
 import org.springframework.stereotype.Service;
 
 @Service
-public class KeyReportViewRepository extends ViewRepository<KeyReportViewRecord> {
+public class KeyReportViewRepository extends CachedViewRepository<KeyReportViewRecord> {
 
-  protected KeyReportViewRepository(DSLContext dslContext) {
-    super(dslContext, KEY_REPORT_VIEW);
+  public static final List<SortField<?>> REPORT_ORDER = List.of(KEY_REPORT_VIEW.REPORTED_AT.desc(), KEY_REPORT_VIEW.ID.desc());
+
+  protected KeyReportViewRepository(DSLContext dslContext, RepositoryCache repositoryCache) {
+    super(dslContext, KEY_REPORT_VIEW, repositoryCache, KEY_REPORT, KEY_REPORT_SUMMARY, KEY, ITEM, ITEM_TAG);
   }
 
 }
@@ -1,17 +1,21 @@
 package ch.gatzka.view;
 
+import static ch.gatzka.Tables.ITEM;
+import static ch.gatzka.Tables.ITEM_TAG;
+import static ch.gatzka.Tables.KEY;
 import static ch.gatzka.Tables.KEY_VIEW;
 
-import ch.gatzka.core.ViewRepository;
+import ch.gatzka.core.CachedViewRepository;
+import ch.gatzka.core.RepositoryCache;
 import ch.gatzka.tables.records.KeyViewRecord;
 import org.jooq.DSLContext;
 import org.springframework.stereotype.Service;
 
 @Service
-public class KeyViewRepository extends ViewRepository<KeyViewRecord> {
+public class KeyViewRepository extends CachedViewRepository<KeyViewRecord> {
 
-  protected KeyViewRepository(DSLContext dslContext) {
-    super(dslContext, KEY_VIEW);
+  protected KeyViewRepository(DSLContext dslContext, RepositoryCache repositoryCache) {
+    super(dslContext, KEY_VIEW, repositoryCache, ITEM, ITEM_TAG, KEY);
   }
 
 }
@@ -1,17 +1,20 @@
 package ch.gatzka.view;
 
+import static ch.gatzka.Tables.ITEM;
+import static ch.gatzka.Tables.LOOT_REPORT;
 import static ch.gatzka.Tables.LOOT_REPORT_VIEW;
 
-import ch.gatzka.core.ViewRepository;
+import ch.gatzka.core.CachedViewRepository;
+import ch.gatzka.core.RepositoryCache;
 import ch.gatzka.tables.records.LootReportViewRecord;
 import org.jooq.DSLContext;
 import org.springframework.stereotype.Service;
 
 @Service
-public class LootReportViewRepository extends ViewRepository<LootReportViewRecord> {
+public class LootReportViewRepository extends CachedViewRepository<LootReportViewRecord> {
 
-  protected LootReportViewRepository(DSLContext dslContext) {
-    super(dslContext, LOOT_REPORT_VIEW);
+  protected LootReportViewRepository(DSLContext dslContext, RepositoryCache repositoryCache) {
+    super(dslContext, LOOT_REPORT_VIEW, repositoryCache, LOOT_REPORT, ITEM);
   }
 
 }
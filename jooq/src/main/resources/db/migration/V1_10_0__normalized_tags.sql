@@ -0,0 +1,115 @@
+CREATE TABLE tag
+(
+    id   SMALLSERIAL  NOT NULL PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE
+);
+
+CREATE TABLE item_tag
+(
+    item_id INTEGER  NOT NULL REFERENCES item,
+    tag_id  SMALLINT NOT NULL REFERENCES tag,
+    PRIMARY KEY (item_id, tag_id)
+);
+
+CREATE INDEX item_tag_tag_id_idx ON item_tag (tag_id, item_id);
+
+INSERT INTO tag (name)
+SELECT DISTINCT UNNEST(tags)
+FROM item
+ORDER BY 1;
+
+INSERT INTO item_tag (item_id, tag_id)
+SELECT DISTINCT item.id, tag.id
+FROM item
+         CROSS JOIN LATERAL UNNEST(item.tags) AS item_tags(name)
+         JOIN tag ON tag.name = item_tags.name;
+
+DROP VIEW item_grid_view;
+
+DROP VIEW tag_view;
+
+DROP VIEW key_grid_view;
+
+DROP VIEW location_view;
+
+DROP VIEW key_view;
+
+DROP VIEW key_report_view;
+
+ALTER TABLE item
+    DROP COLUMN tags;
+
+CREATE VIEW item_grid_view AS
+SELECT id                                                              AS item_id,
+       name,
+       icon_link,
+       wiki_link,
+       market_link,
+       horizontal_slots,
+       vertical_slots,
+       trader_currency,
+       trader_price,
+       pvp_banned_on_flea,
+       pve_banned_on_flea,
+       CASE WHEN NOT pvp_banned_on_flea THEN pvp_flea_price ELSE 0 END AS pvp_flea_price,
+       CASE WHEN NOT pve_banned_on_flea THEN pve_flea_price ELSE 0 END AS pve_flea_price,
+       ARRAY(SELECT tag_id FROM item_tag WHERE item_tag.item_id = item.id ORDER BY tag_id) AS tag_ids
+FROM item;
+
+CREATE VIEW key_grid_view AS
+SELECT item_id,
+       uses,
+       name,
+       icon_link,
+       ARRAY(SELECT tag_id FROM item_tag WHERE item_tag.item_id = key.item_id ORDER BY tag_id) AS tag_ids
+FROM key
+         JOIN item ON key.item_id = id;
+
+CREATE VIEW key_view AS
+SELECT key.item_id,
+       uses,
+       tarkov_id,
+       market_id,
+       name,
+       icon_link,
+       wiki_link,
+       market_link,
+       horizontal_slots,
+       vertical_slots,
+       trader_currency,
+       trader_price,
+       pvp_banned_on_flea,
+       pve_banned_on_flea,
+       pvp_flea_price,
+       pve_flea_price,
+       ARRAY(SELECT tag_id FROM item_tag WHERE item_tag.item_id = key.item_id ORDER BY tag_id) AS tag_ids
+FROM key
+         JOIN item ON key.item_id = item.id;
+
+CREATE VIEW key_report_view AS
+SELECT key_report.id,
+       key_report.game_mode,
+       key_report.key_id,
+       key_report.reported_at,
+       key_report.reported_by,
+       key_report.key_price,
+       key.uses,
+       item.name,
+       item.icon_link,
+       ARRAY(SELECT tag_id FROM item_tag WHERE item_tag.item_id = item.id ORDER BY tag_id) AS tag_ids,
+       CASE WHEN game_mode = 'PVP' THEN pvp_flea_price ELSE pve_flea_price END AS flea_price,
+       key_report_summary.value,
+       key_report_summary.item_count,
+       key_report_summary.loot_count
+FROM key_report
+         JOIN key_report_summary ON key_report.id = key_report_summary.key_report_id
+         JOIN key ON key_report.key_id = key.item_id
+         JOIN item ON key.item_id = item.id;
+
+GRANT INSERT, SELECT ON tag TO tarkov_keytool;
+
+GRANT SELECT, UPDATE ON SEQUENCE tag_id_seq TO tarkov_keytool;
+
+GRANT DELETE, INSERT, SELECT ON item_tag TO tarkov_keytool;
+
+GRANT SELECT ON item_grid_view, key_grid_view, key_view, key_report_view TO tarkov_keytool;
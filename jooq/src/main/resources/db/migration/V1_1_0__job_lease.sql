@@ -0,0 +1,10 @@
+CREATE TABLE job_lease
+(
+    job         VARCHAR(255) NOT NULL PRIMARY KEY,
+    holder      VARCHAR(255) NOT NULL,
+    acquired_at TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    released_at TIMESTAMP,
+    duration_ms BIGINT
+);
+
+GRANT INSERT, SELECT, UPDATE ON job_lease TO tarkov_keytool;
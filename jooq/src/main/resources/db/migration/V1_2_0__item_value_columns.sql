@@ -0,0 +1,24 @@
+ALTER TABLE item
+    ADD COLUMN pvp_value INTEGER,
+    ADD COLUMN pve_value INTEGER;
+
+UPDATE item
+SET pvp_value = item_value(item_id := id, game_mode := 'PVP'),
+    pve_value = item_value(item_id := id, game_mode := 'PVE');
+
+CREATE OR REPLACE VIEW loot_report_view AS
+SELECT loot_report.item_id,
+       loot_report.count,
+       loot_report.key_report_id,
+       item.name,
+       item.icon_link,
+       item.horizontal_slots,
+       item.vertical_slots,
+       item.pvp_value * count AS pvp_value,
+       item.pve_value * count AS pve_value
+FROM loot_report
+         JOIN item ON loot_report.item_id = item.id;
+
+DROP FUNCTION item_value(INTEGER, GAME_MODE);
+
+CREATE INDEX loot_report_key_report_id_idx ON loot_report (key_report_id);
@@ -0,0 +1,38 @@
+CREATE TABLE key_report_summary
+(
+    key_report_id INTEGER NOT NULL PRIMARY KEY REFERENCES key_report,
+    pvp_value     BIGINT,
+    pve_value     BIGINT,
+    item_count    BIGINT  NOT NULL,
+    loot_count    INTEGER NOT NULL
+);
+
+INSERT INTO key_report_summary (key_report_id, pvp_value, pve_value, item_count, loot_count)
+SELECT key_report_id,
+       SUM(pvp_value),
+       SUM(pve_value),
+       SUM(count),
+       COUNT(*)
+FROM loot_report_view
+GROUP BY key_report_id;
+
+CREATE OR REPLACE VIEW key_report_view AS
+SELECT key_report.id,
+       key_report.game_mode,
+       key_report.key_id,
+       key_report.reported_at,
+       key_report.reported_by,
+       key.uses,
+       item.name,
+       item.icon_link,
+       item.tags,
+       CASE WHEN game_mode = 'PVP' THEN pvp_flea_price ELSE pve_flea_price END                                      AS flea_price,
+       CASE WHEN game_mode = 'PVP' THEN key_report_summary.pvp_value ELSE key_report_summary.pve_value END          AS value,
+       key_report_summary.item_count,
+       key_report_summary.loot_count
+FROM key_report
+         JOIN key_report_summary ON key_report.id = key_report_summary.key_report_id
+         JOIN key ON key_report.key_id = key.item_id
+         JOIN item ON key.item_id = item.id;
+
+GRANT INSERT, SELECT, UPDATE ON key_report_summary TO tarkov_keytool;
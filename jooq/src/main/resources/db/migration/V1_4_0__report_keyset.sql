@@ -0,0 +1,3 @@
+CREATE INDEX key_report_reported_at_id_idx ON key_report (reported_at, id);
+
+CREATE INDEX key_report_game_mode_reported_at_id_idx ON key_report (game_mode, reported_at, id);
@@ -0,0 +1,2 @@
+ALTER TABLE key_report
+    ADD COLUMN submission_id UUID UNIQUE;
@@ -0,0 +1,67 @@
+ALTER TABLE key_report
+    ADD COLUMN key_price INTEGER;
+
+UPDATE key_report
+SET key_price = CASE WHEN key_report.game_mode = 'PVP' THEN item.pvp_flea_price ELSE item.pve_flea_price END
+FROM item
+WHERE item.id = key_report.key_id;
+
+ALTER TABLE loot_report
+    ADD COLUMN value INTEGER;
+
+UPDATE loot_report
+SET value = CASE WHEN key_report.game_mode = 'PVP' THEN item.pvp_value ELSE item.pve_value END
+FROM key_report,
+     item
+WHERE key_report.id = loot_report.key_report_id
+  AND item.id = loot_report.item_id;
+
+DROP VIEW key_report_view;
+
+DROP VIEW loot_report_view;
+
+ALTER TABLE key_report_summary
+    ADD COLUMN value BIGINT;
+
+UPDATE key_report_summary
+SET value = (SELECT SUM(loot_report.value * loot_report.count)
+             FROM loot_report
+             WHERE loot_report.key_report_id = key_report_summary.key_report_id);
+
+ALTER TABLE key_report_summary
+    DROP COLUMN pvp_value,
+    DROP COLUMN pve_value;
+
+CREATE VIEW loot_report_view AS
+SELECT loot_report.item_id,
+       loot_report.count,
+       loot_report.key_report_id,
+       item.name,
+       item.icon_link,
+       item.horizontal_slots,
+       item.vertical_slots,
+       loot_report.value * loot_report.count AS value
+FROM loot_report
+         JOIN item ON loot_report.item_id = item.id;
+
+CREATE VIEW key_report_view AS
+SELECT key_report.id,
+       key_report.game_mode,
+       key_report.key_id,
+       key_report.reported_at,
+       key_report.reported_by,
+       key_report.key_price,
+       key.uses,
+       item.name,
+       item.icon_link,
+       item.tags,
+       CASE WHEN game_mode = 'PVP' THEN pvp_flea_price ELSE pve_flea_price END AS flea_price,
+       key_report_summary.value,
+       key_report_summary.item_count,
+       key_report_summary.loot_count
+FROM key_report
+         JOIN key_report_summary ON key_report.id = key_report_summary.key_report_id
+         JOIN key ON key_report.key_id = key.item_id
+         JOIN item ON key.item_id = item.id;
+
+GRANT SELECT ON loot_report_view, key_report_view TO tarkov_keytool;
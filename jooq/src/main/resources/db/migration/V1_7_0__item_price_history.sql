@@ -0,0 +1,35 @@
+CREATE TABLE item_price_history
+(
+    item_id     INTEGER   NOT NULL REFERENCES item,
+    game_mode   GAME_MODE NOT NULL,
+    recorded_at TIMESTAMP NOT NULL,
+    flea_price  INTEGER,
+    PRIMARY KEY (item_id, game_mode, recorded_at)
+) PARTITION BY RANGE (recorded_at);
+
+CREATE INDEX item_price_history_recorded_at_idx ON item_price_history USING BRIN (recorded_at);
+
+CREATE OR REPLACE FUNCTION ensure_item_price_history_partition(recorded_at TIMESTAMP) RETURNS VOID AS
+$$
+DECLARE
+    month_start    TIMESTAMP := date_trunc('month', recorded_at);
+    partition_name TEXT      := 'item_price_history_y' || to_char(month_start, 'YYYY') || 'm' || to_char(month_start, 'MM');
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF item_price_history FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, month_start, month_start + INTERVAL '1 month');
+END;
+$$ LANGUAGE plpgsql SECURITY DEFINER
+                    SET search_path = public;
+
+SELECT ensure_item_price_history_partition(CURRENT_TIMESTAMP::TIMESTAMP);
+
+INSERT INTO item_price_history (item_id, game_mode, recorded_at, flea_price)
+SELECT id, 'PVP', CURRENT_TIMESTAMP, pvp_flea_price
+FROM item
+UNION ALL
+SELECT id, 'PVE', CURRENT_TIMESTAMP, pve_flea_price
+FROM item;
+
+GRANT INSERT, SELECT ON item_price_history TO tarkov_keytool;
+
+GRANT EXECUTE ON FUNCTION ensure_item_price_history_partition(TIMESTAMP) TO tarkov_keytool;
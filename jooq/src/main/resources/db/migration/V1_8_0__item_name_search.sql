@@ -0,0 +1,3 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX item_name_trgm_idx ON item USING GIN (name gin_trgm_ops);
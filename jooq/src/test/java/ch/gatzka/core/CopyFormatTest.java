@@ -0,0 +1,54 @@
+package ch.gatzka.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class CopyFormatTest {
+
+  private static String row(Object... values) throws IOException {
+    StringWriter writer = new StringWriter();
+    CopyFormat.writeRow(writer, Arrays.asList(values));
+    return writer.toString();
+  }
+
+  @Test
+  void separatesColumnsWithTabsAndEndsRowsWithNewlines() throws IOException {
+    assertEquals("1\tname\tt\n", row(1, "name", true));
+  }
+
+  @Test
+  void writesNullAsBackslashN() throws IOException {
+    assertEquals("\\N\t\\N\n", row(null, null));
+  }
+
+  @Test
+  void escapesTabsNewlinesAndBackslashes() throws IOException {
+    assertEquals("a\\tb\\nc\\rd\tback\\\\slash\n", row("a\tb\nc\rd", "back\\slash"));
+  }
+
+  @Test
+  void quotesArrayElementsAndEscapesQuotesAndBackslashes() throws IOException {
+    assertEquals("{\"plain\",\"x\\\\\"y\",\"p\\\\\\\\q\",NULL,\"a\\tb\"}\n",
+        row((Object) new String[]{"plain", "x\"y", "p\\q", null, "a\tb"}));
+  }
+
+  @Test
+  void writesTimestampsWithSecondsEvenWhenTheyAreZero() throws IOException {
+    assertEquals("2024-03-01 10:15:00.000000\t2024-03-01 10:15:07.123000\n",
+        row(LocalDateTime.of(2024, 3, 1, 10, 15), LocalDateTime.of(2024, 3, 1, 10, 15, 7, 123_000_000)));
+  }
+
+  @Test
+  void writesEmptyRowsForEmptyValueLists() throws IOException {
+    StringWriter writer = new StringWriter();
+    CopyFormat.writeRow(writer, List.of());
+    assertEquals("\n", writer.toString());
+  }
+
+}
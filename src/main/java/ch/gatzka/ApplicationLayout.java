@@ -95,6 +95,7 @@ public class ApplicationLayout extends AppLayout {
         dialog.open();
       } else {
         authenticatedUser.getAccount().setGameMode(event.getValue()).update();
+        authenticatedUser.refresh();
         UI.getCurrent().getPage().reload();
       }
     });
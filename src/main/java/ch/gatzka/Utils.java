@@ -3,6 +3,7 @@ package ch.gatzka;
 import ch.gatzka.enums.Currency;
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.Unit;
+import com.vaadin.flow.component.combobox.ComboBox;
 import com.vaadin.flow.component.grid.Grid;
 import com.vaadin.flow.component.grid.GridVariant;
 import com.vaadin.flow.component.html.Image;
@@ -13,44 +14,20 @@ import com.vaadin.flow.server.VaadinService;
 import java.text.NumberFormat;
 import java.util.List;
 import java.util.Locale;
-import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.ToIntFunction;
 import lombok.experimental.UtilityClass;
-import lombok.extern.slf4j.Slf4j;
 
-@Slf4j
 @UtilityClass
 public class Utils {
 
-  public static <V> void executeProgressive(String process, List<V> collection, Consumer<V> consumer) {
-
-    final int total = collection.size();
-    if (total == 0) {
-      return;
-    }
-    int processed = 0;
-    int lastLoggedProgress = -1;
-    long startTime = System.currentTimeMillis();
-
-    for (int i = 0; i < collection.size(); i++) {
-      V item = collection.get(i);
-      processed++;
-      int progress = (processed * 100) / total;
-      long elapsedTime = System.currentTimeMillis() - startTime;
-      long estimatedRemainingTime = (total - processed) * (elapsedTime / processed);
-
-      if (progress != lastLoggedProgress) {
-        lastLoggedProgress = progress;
-
-        if (progress % 10 == 0) {
-          log.info("{} | Progress {}% ({}/{}), Estimated remaining time: {} ms", process, progress, i, collection.size(), estimatedRemainingTime);
-        } else {
-          log.debug("{} | Progress: {}% ({}/{}), Estimated remaining time: {} ms", process, progress, i, collection.size(), estimatedRemainingTime);
-        }
-      }
-      consumer.accept(item);
-    }
+  public static <V> void setSearchItems(ComboBox<V> comboBox, Function<String, List<V>> search) {
+    SearchMemo<V> memo = new SearchMemo<>(search);
+    comboBox.setItems(query -> memo.search(query.getFilter().orElse(""))
+        .stream()
+        .skip(query.getOffset())
+        .limit(query.getLimit()), query -> memo.search(query.getFilter().orElse("")).size());
+    comboBox.addOpenedChangeListener(_ -> memo.clear());
   }
 
   public static <V> Grid<V> defaultStripedGrid(Class<V> clazz) {
@@ -101,4 +78,31 @@ public class Utils {
     return new TextRenderer<>(entry -> priceNumber(currencyMapping.apply(entry), numberMapping.apply(entry)));
   }
 
+  private static final class SearchMemo<V> {
+
+    private final Function<String, List<V>> search;
+
+    private String filter;
+
+    private List<V> result;
+
+    private SearchMemo(Function<String, List<V>> search) {
+      this.search = search;
+    }
+
+    private List<V> search(String filter) {
+      if (!filter.equals(this.filter)) {
+        this.result = search.apply(filter);
+        this.filter = filter;
+      }
+      return result;
+    }
+
+    private void clear() {
+      filter = null;
+      result = null;
+    }
+
+  }
+
 }
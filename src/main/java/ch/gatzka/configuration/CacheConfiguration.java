@@ -0,0 +1,28 @@
+package ch.gatzka.configuration;
+
+import ch.gatzka.core.RepositoryCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CacheConfiguration {
+
+  @Bean
+  public MeterBinder repositoryCacheMetrics(RepositoryCache repositoryCache) {
+    return registry -> {
+      FunctionCounter.builder("repository.cache.gets", repositoryCache, RepositoryCache::getHits)
+          .tag("result", "hit")
+          .register(registry);
+      FunctionCounter.builder("repository.cache.gets", repositoryCache, RepositoryCache::getMisses)
+          .tag("result", "miss")
+          .register(registry);
+      FunctionCounter.builder("repository.cache.evictions", repositoryCache, RepositoryCache::getEvictions)
+          .register(registry);
+      Gauge.builder("repository.cache.rows", repositoryCache, RepositoryCache::getRows).register(registry);
+    };
+  }
+
+}
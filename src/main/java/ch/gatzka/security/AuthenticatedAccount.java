@@ -2,6 +2,7 @@ package ch.gatzka.security;
 
 import ch.gatzka.table.AccountRepository;
 import ch.gatzka.tables.records.AccountRecord;
+import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.spring.security.AuthenticationContext;
 import java.util.Map;
 import java.util.Optional;
@@ -13,14 +14,27 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class AuthenticatedAccount {
 
+  private static final String SESSION_ATTRIBUTE = AuthenticatedAccount.class.getName() + ".info";
+
   private final AccountRepository accountRepository;
 
   private final AuthenticationContext authenticationContext;
 
   public Optional<Info> getOptional() {
-    return authenticationContext.getAuthenticatedUser(DefaultOAuth2User.class)
-        .filter(userDetails -> accountRepository.existsByEmail(userDetails.getName()))
-        .map(userDetails -> new Info(userDetails.getAttributes(), accountRepository.getByEmail(userDetails.getName())));
+    Optional<DefaultOAuth2User> user = authenticationContext.getAuthenticatedUser(DefaultOAuth2User.class);
+    if (user.isEmpty()) {
+      return Optional.empty();
+    }
+    VaadinSession session = VaadinSession.getCurrent();
+    if (session == null) {
+      return resolve(user.get());
+    }
+    if (session.getAttribute(SESSION_ATTRIBUTE) instanceof Info cached && cached.account().getEmail().equals(user.get().getName())) {
+      return Optional.of(cached);
+    }
+    Optional<Info> info = resolve(user.get());
+    info.ifPresent(value -> session.setAttribute(SESSION_ATTRIBUTE, value));
+    return info;
   }
 
   public Info get() {
@@ -39,10 +53,22 @@ public class AuthenticatedAccount {
     return authenticationContext.isAuthenticated();
   }
 
+  public void refresh() {
+    VaadinSession session = VaadinSession.getCurrent();
+    if (session != null) {
+      session.setAttribute(SESSION_ATTRIBUTE, null);
+    }
+  }
+
   public void logout() {
+    refresh();
     authenticationContext.logout();
   }
 
+  private Optional<Info> resolve(DefaultOAuth2User user) {
+    return Optional.ofNullable(accountRepository.getByEmail(user.getName())).map(account -> new Info(user.getAttributes(), account));
+  }
+
   public record Info(Map<String, Object> attributes, AccountRecord account) {
 
   }
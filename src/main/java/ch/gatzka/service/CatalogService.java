@@ -0,0 +1,98 @@
+package ch.gatzka.service;
+
+import static ch.gatzka.Tables.ITEM;
+import static ch.gatzka.Tables.ITEM_TAG;
+import static ch.gatzka.Tables.KEY;
+import static ch.gatzka.Tables.TAG;
+
+import ch.gatzka.core.TableChangedEvent;
+import ch.gatzka.enums.GameMode;
+import ch.gatzka.table.ItemRepository;
+import ch.gatzka.table.ItemTagRepository;
+import ch.gatzka.table.KeyRepository;
+import ch.gatzka.table.TagRepository;
+import ch.gatzka.tables.records.ItemRecord;
+import jakarta.annotation.PostConstruct;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CatalogService {
+
+  private final ItemRepository itemRepository;
+
+  private final KeyRepository keyRepository;
+
+  private final TagRepository tagRepository;
+
+  private final ItemTagRepository itemTagRepository;
+
+  private final AtomicBoolean refreshing = new AtomicBoolean();
+
+  private final AtomicBoolean stale = new AtomicBoolean();
+
+  private volatile Map<GameMode, ItemCatalog> catalogs = Arrays.stream(GameMode.values())
+      .collect(Collectors.toUnmodifiableMap(Function.identity(), ItemCatalog::empty));
+
+  public ItemCatalog getCatalog(GameMode gameMode) {
+    return catalogs.get(gameMode);
+  }
+
+  @EventListener
+  public void onTableChanged(TableChangedEvent event) {
+    if (!Collections.disjoint(event.tables(), Set.of(ITEM, KEY, TAG, ITEM_TAG))) {
+      stale.set(true);
+      if (refreshing.compareAndSet(false, true)) {
+        Thread.ofVirtual().name("catalog-refresh").start(this::refreshWhileStale);
+      }
+    }
+  }
+
+  @PostConstruct
+  @Scheduled(fixedDelayString = "${tarkov-keytool.catalog.refresh}", initialDelayString = "${tarkov-keytool.catalog.refresh}")
+  public synchronized void refresh() {
+    long start = System.currentTimeMillis();
+    List<ItemRecord> items = itemRepository.read();
+    Map<Integer, Integer> keyUses = keyRepository.readUses();
+    Map<Short, String> tagNames = tagRepository.readNames();
+    Map<Integer, Set<Short>> itemTags = itemTagRepository.readTagIds();
+    Map<GameMode, ItemCatalog> rebuilt = new EnumMap<>(GameMode.class);
+    for (GameMode gameMode : GameMode.values()) {
+      rebuilt.put(gameMode, ItemCatalog.of(gameMode, items, keyUses, tagNames, itemTags));
+    }
+    catalogs = Map.copyOf(rebuilt);
+    log.info("Refreshed item catalog of {} items and {} keys in {} ms", items.size(), keyUses.size(), System.currentTimeMillis() - start);
+  }
+
+  private void refreshWhileStale() {
+    try {
+      while (stale.getAndSet(false)) {
+        try {
+          refresh();
+        } catch (RuntimeException e) {
+          log.error("Error refreshing item catalog", e);
+        }
+      }
+    } finally {
+      refreshing.set(false);
+    }
+    if (stale.get() && refreshing.compareAndSet(false, true)) {
+      Thread.ofVirtual().name("catalog-refresh").start(this::refreshWhileStale);
+    }
+  }
+
+}
@@ -1,23 +1,44 @@
 package ch.gatzka.service;
 
 import static ch.gatzka.Tables.ITEM;
+import static ch.gatzka.Tables.ITEM_TAG;
 import static ch.gatzka.Tables.KEY;
+import static ch.gatzka.Tables.TAG;
 
+import ch.gatzka.FetchItemSlotsQuery;
 import ch.gatzka.FetchKeysQuery;
-import ch.gatzka.Utils;
+import ch.gatzka.core.TableChangedEvent;
 import ch.gatzka.enums.Currency;
 import ch.gatzka.enums.GameMode;
-import ch.gatzka.pojo.Item;
+import ch.gatzka.pojo.Fetched;
+import ch.gatzka.pojo.MarketItem;
+import ch.gatzka.table.ItemPriceHistoryRepository;
 import ch.gatzka.table.ItemRepository;
+import ch.gatzka.table.ItemTagRepository;
 import ch.gatzka.table.KeyRepository;
+import ch.gatzka.table.TagRepository;
 import ch.gatzka.tables.records.ItemRecord;
+import ch.gatzka.tables.records.ItemTagRecord;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.concurrent.TimeUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.jooq.Table;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Slf4j
 @Service
@@ -26,109 +47,158 @@ public class DataUpdatingService {
 
   private final ItemRepository itemRepository;
 
+  private final ItemPriceHistoryRepository itemPriceHistoryRepository;
+
+  private final TagRepository tagRepository;
+
+  private final ItemTagRepository itemTagRepository;
+
   private final ApiService apiService;
 
   private final KeyRepository keyRepository;
 
-  @Scheduled(initialDelay = 10, fixedDelay = 10, timeUnit = TimeUnit.MINUTES)
-  public void updateBaseData() {
-    log.info("Updating base data");
-    updatePVPData();
-    updatePVEData();
-    updateSlots();
-    updateKeys();
-    log.info("Finished updating base data, next update in 10 minutes ({})", LocalDateTime.now().plusMinutes(10));
-  }
-
-  private void updateKeys() {
-    final int[] stats = {0, 0};
-    Utils.executeProgressive("Update keys", apiService.readKeys(), key -> {
-      if (itemRepository.exists(ITEM.TARKOV_ID.eq(key.id))) {
-        ItemRecord item = itemRepository.get(ITEM.TARKOV_ID.eq(key.id));
-        if (keyRepository.exists(KEY.ITEM_ID.eq(item.getId()))) {
-          updateKey(item, key);
-          stats[0]++;
-        } else {
-          insertKey(item, key);
-          stats[1]++;
-        }
-      }
-    });
-    log.info("Updated {} keys, inserted {} keys", stats[1], stats[0]);
+  private final TransactionTemplate transactionTemplate;
+
+  private final FetchService fetchService;
+
+  private final ApplicationEventPublisher eventPublisher;
+
+  @Value("${tarkov-keytool.fetch.market-timeout}")
+  private Duration marketTimeout;
+
+  @Value("${tarkov-keytool.fetch.graphql-timeout}")
+  private Duration graphqlTimeout;
+
+  public boolean updatePVPData() {
+    return updateItems(GameMode.PVP, fetch("PVP items", marketTimeout, this::readPVPItems));
   }
 
-  private void insertKey(ItemRecord item, FetchKeysQuery.Item key) {
-    keyRepository.insert(entity -> entity.setItemId(item.getId()).setUses(key.properties.onItemPropertiesKey.uses));
+  public boolean updatePVEData() {
+    return updateItems(GameMode.PVE, fetch("PVE items", marketTimeout, this::readPVEItems));
   }
 
-  private void updateKey(ItemRecord item, FetchKeysQuery.Item key) {
-    keyRepository.update(entity -> entity.setUses(key.properties.onItemPropertiesKey.uses), KEY.ITEM_ID.eq(item.getId()));
+  public void updateSlots() {
+    updateIfChanged("Item slots", fetch("item slots", graphqlTimeout, apiService::readItemSlots), this::writeSlots, ITEM);
   }
 
-  private void updateSlots() {
-    final int[] stats = {0};
-    Utils.executeProgressive("Update item slots", apiService.readItemSlots()
-        .stream()
-        .filter(item -> item.height * item.width != 1)
-        .toList(), item -> stats[0] += itemRepository.update(entity -> entity.setHorizontalSlots(item.width)
-        .setVerticalSlots(item.height), ITEM.TARKOV_ID.eq(item.id)));
-    log.info("Updated {} item slots", stats[0]);
+  public void updateKeys() {
+    updateIfChanged("Keys", fetch("keys", graphqlTimeout, apiService::readKeys), this::writeKeys, KEY);
   }
 
-  private void updatePVPData() {
-    updateBaseData(apiService.readPVPItems(), GameMode.PVP);
+  private <V> Fetched<V> fetch(String source, Duration timeout, Supplier<Fetched<V>> supplier) {
+    return fetchService.fetch(source, timeout, supplier).join();
   }
 
-  private void updatePVEData() {
-    updateBaseData(apiService.readPVEItems(), GameMode.PVE);
+  private Fetched<Map<String, MarketEntry>> readPVPItems() {
+    // sorted by tarkov id so concurrent writers lock the rows in the same order
+    return apiService.streamPVPItems(Collector.of(TreeMap::new, (entries, item) -> mergeBaseData(entries, item).setPvpBannedOnFlea(item.bannedOnFlea())
+        .setPvpFleaPrice(fleaPrice(item)), this::combine));
   }
 
-  private void updateBaseData(Item[] items, GameMode gameMode) {
-    final int[] stats = {0, 0};
-    Utils.executeProgressive("Update PVP Data", Arrays.stream(items).toList(), item -> {
-      if (itemRepository.exists(ITEM.TARKOV_ID.eq(item.getBsgId()))) {
-        updateItemBaseData(item, gameMode);
-        stats[1]++;
-      } else {
-        insertItemBaseData(item, gameMode);
-        stats[0]++;
-      }
-    });
-    log.info("Updated {} items, inserted {} items", stats[1], stats[0]);
-  }
-
-  private void updateItemBaseData(Item item, GameMode gameMode) {
-    itemRepository.update(entity -> entity.setName(item.getName())
-        .setIconLink(item.getIcon().trim().isEmpty() ? item.getImgBig() : item.getIcon())
-        .setWikiLink(item.getWikiLink())
-        .setMarketLink(item.getLink())
-        .setTraderCurrency(Currency.lookupLiteral(item.getTraderPriceCur()))
-        .setTraderPrice(item.getTraderPrice())
-        .setTags(item.getTags()), ITEM.TARKOV_ID.eq(item.getBsgId()));
-    updateItemPrices(item, gameMode);
-  }
-
-  private void insertItemBaseData(Item item, GameMode gameMode) {
-    itemRepository.insert(entity -> entity.setTarkovId(item.getBsgId())
-        .setMarketId(item.getUid())
-        .setName(item.getName())
-        .setIconLink(item.getIcon().trim().isEmpty() ? item.getImgBig() : item.getIcon())
-        .setWikiLink(item.getWikiLink())
-        .setMarketLink(item.getLink())
-        .setTraderCurrency(Currency.lookupLiteral(item.getTraderPriceCur()))
-        .setTraderPrice(item.getTraderPrice())
-        .setTags(item.getTags()));
-    updateItemPrices(item, gameMode);
-  }
-
-  private void updateItemPrices(Item item, GameMode gameMode) {
-    if (gameMode == GameMode.PVP) {
-      itemRepository.update(entity -> entity.setPvpBannedOnFlea(item.getBannedOnFlea())
-          .setPvpFleaPrice(Boolean.TRUE.equals(item.getBannedOnFlea()) ? null : item.getAvg24hPrice()), ITEM.TARKOV_ID.eq(item.getBsgId()));
-    } else {
-      itemRepository.update(entity -> entity.setPveBannedOnFlea(item.getBannedOnFlea())
-          .setPveFleaPrice(Boolean.TRUE.equals(item.getBannedOnFlea()) ? null : item.getAvg24hPrice()), ITEM.TARKOV_ID.eq(item.getBsgId()));
+  private Fetched<Map<String, MarketEntry>> readPVEItems() {
+    return apiService.streamPVEItems(Collector.of(TreeMap::new, (entries, item) -> mergeBaseData(entries, item).setPveBannedOnFlea(item.bannedOnFlea())
+        .setPveFleaPrice(fleaPrice(item)), this::combine));
+  }
+
+  private Map<String, MarketEntry> combine(Map<String, MarketEntry> left, Map<String, MarketEntry> right) {
+    left.putAll(right);
+    return left;
+  }
+
+  private <V> void updateIfChanged(String source, Fetched<V> fetched, Consumer<V> update, Table<?>... changedTables) {
+    if (!fetched.changed()) {
+      log.info("{} unchanged, skipping update", source);
+      return;
+    }
+    transactionTemplate.executeWithoutResult(_ -> update.accept(fetched.data()));
+    apiService.acknowledge(fetched.version());
+    eventPublisher.publishEvent(new TableChangedEvent(changedTables));
+  }
+
+  private ItemRecord mergeBaseData(Map<String, MarketEntry> entries, MarketItem item) {
+    MarketEntry entry = entries.computeIfAbsent(item.bsgId(), _ -> new MarketEntry(new ItemRecord(), new TreeSet<>()));
+    entry.tags().addAll(Arrays.asList(item.tags()));
+    return entry.record()
+        .setTarkovId(item.bsgId())
+        .setMarketId(item.uid())
+        .setName(item.name())
+        .setIconLink(item.icon().trim().isEmpty() ? item.imgBig() : item.icon())
+        .setWikiLink(item.wikiLink())
+        .setMarketLink(item.link())
+        .setTraderCurrency(Currency.lookupLiteral(item.traderPriceCur()))
+        .setTraderPrice(item.traderPrice());
+  }
+
+  private Integer fleaPrice(MarketItem item) {
+    return Boolean.TRUE.equals(item.bannedOnFlea()) ? null : item.avg24hPrice();
+  }
+
+  private boolean updateItems(GameMode gameMode, Fetched<Map<String, MarketEntry>> items) {
+    if (!items.changed()) {
+      log.info("Market data unchanged, skipping update");
+      return false;
     }
+    boolean inserted = Boolean.TRUE.equals(transactionTemplate.execute(_ -> {
+      itemRepository.lockForWrite();
+      Map<Integer, Integer> pricesBefore = itemRepository.readFleaPrices(gameMode);
+      List<Boolean> written = itemRepository.upsertMarketData(items.data().values().stream().map(MarketEntry::record).toList());
+      long insertedItems = written.stream().filter(Boolean::booleanValue).count();
+      log.info("Upserted {} of {} items, {} of them new", written.size(), items.data().size(), insertedItems);
+      writeTags(items.data());
+      log.info("Recorded {} {} price changes", itemPriceHistoryRepository.recordChanges(gameMode, LocalDateTime.now(), pricesBefore,
+          itemRepository.readFleaPrices(gameMode)), gameMode);
+      log.info("Refreshed {} item values", itemRepository.refreshValues().size());
+      return insertedItems > 0;
+    }));
+    apiService.acknowledge(items.version());
+    eventPublisher.publishEvent(new TableChangedEvent(ITEM, TAG, ITEM_TAG));
+    if (inserted) {
+      apiService.invalidate(ApiService.ITEM_SLOTS);
+      apiService.invalidate(ApiService.KEYS);
+    }
+    return inserted;
+  }
+
+  private void writeTags(Map<String, MarketEntry> entries) {
+    Map<String, Short> tagIds = tagRepository.insertMissing(entries.values()
+        .stream()
+        .flatMap(entry -> entry.tags().stream())
+        .collect(Collectors.toSet()));
+    Map<String, Integer> itemIds = itemRepository.readIds();
+    Map<Integer, Set<Short>> current = itemTagRepository.readTagIds();
+    List<ItemTagRecord> added = new ArrayList<>();
+    List<ItemTagRecord> removed = new ArrayList<>();
+    entries.forEach((tarkovId, entry) -> {
+      int itemId = itemIds.get(tarkovId);
+      Set<Short> wanted = entry.tags().stream().map(tagIds::get).collect(Collectors.toSet());
+      Set<Short> existing = current.getOrDefault(itemId, Set.of());
+      wanted.stream()
+          .filter(tagId -> !existing.contains(tagId))
+          .forEach(tagId -> added.add(new ItemTagRecord().setItemId(itemId).setTagId(tagId)));
+      existing.stream()
+          .filter(tagId -> !wanted.contains(tagId))
+          .forEach(tagId -> removed.add(new ItemTagRecord().setItemId(itemId).setTagId(tagId)));
+    });
+    log.info("Removed {} and added {} item tags", itemTagRepository.deleteAll(removed), itemTagRepository.insertAll(added));
+  }
+
+  private void writeSlots(List<FetchItemSlotsQuery.Item> slots) {
+    List<ItemRecord> records = slots.stream()
+        .filter(item -> item.height * item.width != 1)
+        .map(item -> new ItemRecord().setTarkovId(item.id).setHorizontalSlots(item.width).setVerticalSlots(item.height))
+        .toList();
+    itemRepository.lockForWrite();
+    log.info("Updated {} item slots", itemRepository.updateSlots(records));
+  }
+
+  private void writeKeys(List<FetchKeysQuery.Item> keys) {
+    Map<String, Integer> uses = new TreeMap<>();
+    keys.forEach(key -> uses.put(key.id, key.properties.onItemPropertiesKey.uses));
+    log.info("Upserted {} of {} keys", keyRepository.upsertUses(uses), uses.size());
+  }
+
+  private record MarketEntry(ItemRecord record, Set<String> tags) {
+
   }
 
 }
@@ -0,0 +1,64 @@
+package ch.gatzka.service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+public class FetchService implements DisposableBean {
+
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+  private final Semaphore permits;
+
+  public FetchService(@Value("${tarkov-keytool.fetch.concurrency}") int concurrency) {
+    this.permits = new Semaphore(concurrency, true);
+  }
+
+  public <V> CompletableFuture<V> fetch(String source, Duration timeout, Supplier<V> supplier) {
+    CompletableFuture<V> future = new CompletableFuture<>();
+    Future<?> task = executor.submit(() -> {
+      try {
+        permits.acquire();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        future.completeExceptionally(e);
+        return;
+      }
+      try {
+        long start = System.currentTimeMillis();
+        V result = supplier.get();
+        log.info("Fetched {} in {} ms", source, System.currentTimeMillis() - start);
+        future.complete(result);
+      } catch (RuntimeException e) {
+        log.error("Error fetching {}", source, e);
+        future.completeExceptionally(e);
+      } finally {
+        permits.release();
+      }
+    });
+    return future.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS).whenComplete((_, exception) -> {
+      if (exception instanceof TimeoutException) {
+        log.error("Fetching {} timed out after {}", source, timeout);
+        task.cancel(true);
+      }
+    });
+  }
+
+  @Override
+  public void destroy() {
+    executor.shutdownNow();
+  }
+
+}
@@ -0,0 +1,144 @@
+package ch.gatzka.service;
+
+import ch.gatzka.table.JobLeaseRepository;
+import ch.gatzka.tables.records.JobLeaseRecord;
+import jakarta.annotation.PostConstruct;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IngestScheduler {
+
+  private static final String PROPERTY_PREFIX = "tarkov-keytool.ingest.";
+
+  private final DataUpdatingService dataUpdatingService;
+
+  private final JobLeaseRepository jobLeaseRepository;
+
+  private final Environment environment;
+
+  private final String holder = ManagementFactory.getRuntimeMXBean().getName();
+
+  @Value("${tarkov-keytool.ingest.lease-timeout}")
+  private Duration leaseTimeout;
+
+  private List<Job> jobs;
+
+  @PostConstruct
+  void createJobs() {
+    jobs = Stream.of(createJob("pvp-data", () -> {
+          if (dataUpdatingService.updatePVPData()) {
+            requestItemDetails();
+          }
+        }), createJob("pve-data", () -> {
+          if (dataUpdatingService.updatePVEData()) {
+            requestItemDetails();
+          }
+        }), createJob("slots", dataUpdatingService::updateSlots), createJob("keys", dataUpdatingService::updateKeys))
+        .sorted(Comparator.comparingInt(Job::getPriority))
+        .toList();
+  }
+
+  @Scheduled(fixedDelayString = "${tarkov-keytool.ingest.tick}")
+  public void dispatch() {
+    Instant now = Instant.now();
+    jobs.stream().filter(job -> job.isDue(now)).forEach(this::start);
+  }
+
+  public void requestRun(String name) {
+    jobs.stream().filter(job -> job.getName().equals(name)).forEach(job -> {
+      job.getRequested().set(true);
+      job.setNextRun(Instant.now());
+    });
+  }
+
+  private void requestItemDetails() {
+    requestRun("slots");
+    requestRun("keys");
+  }
+
+  private void start(Job job) {
+    if (!job.getRunning().compareAndSet(false, true)) {
+      log.debug("Skipping {} update, previous run still in progress", job.getName());
+      return;
+    }
+    Duration leaseGap = job.getRequested().getAndSet(false) ? Duration.ZERO : job.getLeaseGap();
+    Thread.ofVirtual().name("ingest-" + job.getName()).start(() -> {
+      long start = System.currentTimeMillis();
+      try {
+        if (jobLeaseRepository.runLeased(job.getName(), holder, leaseGap, leaseTimeout, job.getTask())) {
+          log.info("Finished {} update in {} ms", job.getName(), System.currentTimeMillis() - start);
+        } else {
+          JobLeaseRecord lease = jobLeaseRepository.getLease(job.getName());
+          log.info("Skipping {} update, leased by {} since {}", job.getName(), lease == null ? "another node" : lease.getHolder(),
+              lease == null ? "now" : lease.getAcquiredAt());
+        }
+      } catch (RuntimeException e) {
+        log.error("Error running {} update", job.getName(), e);
+      } finally {
+        job.setNextRun(job.getRequested().get() ? Instant.now() : Instant.now().plus(job.getInterval()));
+        job.getRunning().set(false);
+        log.info("Next {} update at {}", job.getName(), job.getNextRun());
+      }
+    });
+  }
+
+  private Job createJob(String name, Runnable task) {
+    Duration interval = environment.getRequiredProperty(PROPERTY_PREFIX + name + ".interval", Duration.class);
+    int priority = environment.getRequiredProperty(PROPERTY_PREFIX + name + ".priority", Integer.class);
+    Duration initialDelay = environment.getRequiredProperty(PROPERTY_PREFIX + "initial-delay", Duration.class);
+    Duration tick = environment.getRequiredProperty(PROPERTY_PREFIX + "tick", Duration.class);
+    return new Job(name, interval, interval.minus(tick), priority, task, Instant.now().plus(initialDelay));
+  }
+
+  @Getter
+  @Setter
+  private static final class Job {
+
+    private final String name;
+
+    private final Duration interval;
+
+    private final Duration leaseGap;
+
+    private final int priority;
+
+    private final Runnable task;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final AtomicBoolean requested = new AtomicBoolean();
+
+    private volatile Instant nextRun;
+
+    private Job(String name, Duration interval, Duration leaseGap, int priority, Runnable task, Instant nextRun) {
+      this.name = name;
+      this.interval = interval;
+      this.leaseGap = leaseGap;
+      this.priority = priority;
+      this.task = task;
+      this.nextRun = nextRun;
+    }
+
+    private boolean isDue(Instant now) {
+      return !nextRun.isAfter(now);
+    }
+
+  }
+
+}
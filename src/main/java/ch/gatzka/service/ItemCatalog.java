@@ -0,0 +1,162 @@
+package ch.gatzka.service;
+
+import ch.gatzka.enums.GameMode;
+import ch.gatzka.tables.records.ItemRecord;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+import lombok.Getter;
+
+public final class ItemCatalog {
+
+  private static final int NO_PRICE = Integer.MIN_VALUE;
+
+  private static final String KEYS_TAG = "Keys";
+
+  @Getter
+  private final GameMode gameMode;
+
+  private final int[] ids;
+
+  private final int[] positions;
+
+  private final String[] names;
+
+  private final String[] iconLinks;
+
+  private final int[] fleaPrices;
+
+  private final int[] values;
+
+  private final int[] uses;
+
+  private final List<Integer> itemIds;
+
+  private final List<Integer> keyIds;
+
+  private final NameIndex itemNames;
+
+  private final NameIndex keyNames;
+
+  private final TagIndex tags;
+
+  private final BitSet keys = new BitSet();
+
+  @Getter
+  private final List<String> locations;
+
+  private ItemCatalog(GameMode gameMode, List<ItemRecord> items, Map<Integer, Integer> keyUses,
+      Map<Short, String> tagNames, Map<Integer, Set<Short>> itemTags) {
+    int size = items.size();
+    this.gameMode = gameMode;
+    this.ids = new int[size];
+    this.positions = new int[items.stream().mapToInt(ItemRecord::getId).max().orElse(-1) + 1];
+    Arrays.fill(positions, -1);
+    this.names = new String[size];
+    this.iconLinks = new String[size];
+    this.fleaPrices = new int[size];
+    this.values = new int[size];
+    this.uses = new int[size];
+    for (int index = 0; index < size; index++) {
+      ItemRecord item = items.get(index);
+      Integer fleaPrice = gameMode == GameMode.PVP ? item.getPvpFleaPrice() : item.getPveFleaPrice();
+      Integer value = gameMode == GameMode.PVP ? item.getPvpValue() : item.getPveValue();
+      this.ids[index] = item.getId();
+      this.positions[item.getId()] = index;
+      this.names[index] = item.getName();
+      this.iconLinks[index] = item.getIconLink();
+      this.fleaPrices[index] = fleaPrice == null ? NO_PRICE : fleaPrice;
+      this.values[index] = value == null ? 0 : value;
+      this.uses[index] = keyUses.getOrDefault(item.getId(), 0);
+      if (keyUses.containsKey(item.getId())) {
+        keys.set(item.getId());
+      }
+    }
+    Comparator<Integer> byName = Comparator.comparing(index -> names[index], Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+    this.itemIds = IntStream.range(0, size).boxed().sorted(byName).map(index -> this.ids[index]).toList();
+    this.keyIds = IntStream.range(0, size)
+        .filter(index -> keyUses.containsKey(this.ids[index]))
+        .boxed()
+        .sorted(byName)
+        .map(index -> this.ids[index])
+        .toList();
+    this.itemNames = new NameIndex(itemIds, this::name);
+    this.keyNames = new NameIndex(keyIds, this::name);
+    this.tags = new TagIndex(tagNames, itemTags);
+    this.locations = tags.tags().stream().filter(tag -> !tag.equals(KEYS_TAG) && tags.get(tag).intersects(keys)).toList();
+  }
+
+  public static ItemCatalog of(GameMode gameMode, List<ItemRecord> items, Map<Integer, Integer> keyUses,
+      Map<Short, String> tagNames, Map<Integer, Set<Short>> itemTags) {
+    return new ItemCatalog(gameMode, items, keyUses, tagNames, itemTags);
+  }
+
+  public static ItemCatalog empty(GameMode gameMode) {
+    return new ItemCatalog(gameMode, List.of(), Map.of(), Map.of(), Map.of());
+  }
+
+  public String name(int id) {
+    return names[index(id)];
+  }
+
+  public String iconLink(int id) {
+    return iconLinks[index(id)];
+  }
+
+  public Integer fleaPrice(int id) {
+    int fleaPrice = fleaPrices[index(id)];
+    return fleaPrice == NO_PRICE ? null : fleaPrice;
+  }
+
+  public int value(int id) {
+    return values[index(id)];
+  }
+
+  public int uses(int id) {
+    return uses[index(id)];
+  }
+
+  public List<String> getTags() {
+    return tags.tags();
+  }
+
+  public String tagName(short tagId) {
+    return tags.label(tagId);
+  }
+
+  public List<Integer> keysAt(String location) {
+    BitSet result = tags.get(location);
+    result.and(keys);
+    return TagIndex.ids(result);
+  }
+
+  public List<Integer> itemsWithAllTags(Collection<String> tags) {
+    return TagIndex.ids(this.tags.all(tags));
+  }
+
+  public List<Integer> itemsWithAnyTag(Collection<String> tags) {
+    return TagIndex.ids(this.tags.any(tags));
+  }
+
+  public List<Integer> searchItems(String query) {
+    return itemNames.search(query);
+  }
+
+  public List<Integer> searchKeys(String query) {
+    return keyNames.search(query);
+  }
+
+  private int index(int id) {
+    int index = id >= 0 && id < positions.length ? positions[id] : -1;
+    if (index < 0) {
+      throw new IllegalArgumentException("Item " + id + " is not in the " + gameMode + " catalog");
+    }
+    return index;
+  }
+
+}
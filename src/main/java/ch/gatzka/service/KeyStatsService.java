@@ -0,0 +1,187 @@
+package ch.gatzka.service;
+
+import static ch.gatzka.Tables.KEY_REPORT_SUMMARY;
+import static ch.gatzka.Tables.KEY_REPORT_VIEW;
+
+import ch.gatzka.core.TableChangedEvent;
+import ch.gatzka.enums.GameMode;
+import ch.gatzka.tables.records.KeyReportViewRecord;
+import ch.gatzka.view.KeyReportViewRepository;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.Result;
+import org.jooq.SortField;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class KeyStatsService implements DisposableBean {
+
+  private static final List<SortField<?>> ID_ORDER = List.of(KEY_REPORT_VIEW.ID.asc());
+
+  private static final int PAGE_SIZE = 1000;
+
+  // report ids are drawn before commit, so a lower id can become visible after a higher one
+  private static final int REORDER_WINDOW = 1000;
+
+  private final KeyReportViewRepository keyReportViewRepository;
+
+  private final ExecutorService executor = Executors.newSingleThreadExecutor(Thread.ofVirtual().name("key-stats").factory());
+
+  private final Map<StatsKey, Accumulator> accumulators = new HashMap<>();
+
+  private final NavigableSet<Integer> recentIds = new TreeSet<>();
+
+  private volatile Map<StatsKey, KeyStats> stats = new ConcurrentHashMap<>();
+
+  private int lastSeenId;
+
+  public KeyStats getStats(int keyId, GameMode gameMode) {
+    return stats.getOrDefault(new StatsKey(keyId, gameMode), KeyStats.EMPTY);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(fixedDelayString = "${tarkov-keytool.stats.rebuild}", initialDelayString = "${tarkov-keytool.stats.rebuild}")
+  public void rebuild() {
+    execute("rebuilding", this::rebuildNow);
+  }
+
+  @EventListener
+  public void onTableChanged(TableChangedEvent event) {
+    if (event.tables().contains(KEY_REPORT_SUMMARY)) {
+      execute("catching up", this::catchUp);
+    }
+  }
+
+  @Override
+  public void destroy() {
+    executor.shutdownNow();
+  }
+
+  private void execute(String action, Runnable task) {
+    executor.execute(() -> {
+      try {
+        task.run();
+      } catch (RuntimeException e) {
+        log.error("Error {} key statistics", action, e);
+      }
+    });
+  }
+
+  private void rebuildNow() {
+    long start = System.currentTimeMillis();
+    recentIds.clear();
+    lastSeenId = 0;
+    List<CompletableFuture<Map<StatsKey, Accumulator>>> partials = new ArrayList<>();
+    try (Stream<Result<KeyReportViewRecord>> pages = keyReportViewRepository.seekPages(ID_ORDER, PAGE_SIZE)) {
+      pages.forEach(page -> {
+        page.forEach(report -> see(report.getId()));
+        partials.add(CompletableFuture.supplyAsync(() -> accumulate(page)));
+      });
+    }
+    Map<StatsKey, Accumulator> rebuilt = new HashMap<>();
+    for (CompletableFuture<Map<StatsKey, Accumulator>> partial : partials) {
+      partial.join().forEach((key, accumulator) -> rebuilt.merge(key, accumulator, Accumulator::merge));
+    }
+    Map<StatsKey, KeyStats> rebuiltStats = new ConcurrentHashMap<>(rebuilt.size());
+    rebuilt.forEach((key, accumulator) -> rebuiltStats.put(key, accumulator.toStats()));
+
+    accumulators.clear();
+    accumulators.putAll(rebuilt);
+    stats = rebuiltStats;
+    log.info("Rebuilt key statistics from {} reports in {} ms", rebuilt.values().stream().mapToLong(Accumulator::count).sum(),
+        System.currentTimeMillis() - start);
+  }
+
+  private static Map<StatsKey, Accumulator> accumulate(List<KeyReportViewRecord> reports) {
+    Map<StatsKey, Accumulator> partial = new HashMap<>();
+    reports.forEach(report -> partial.computeIfAbsent(key(report), _ -> new Accumulator()).add(report));
+    return partial;
+  }
+
+  private void catchUp() {
+    int floor = Math.max(0, lastSeenId - REORDER_WINDOW);
+    try (Stream<KeyReportViewRecord> reports = keyReportViewRepository.seekAll(ID_ORDER, PAGE_SIZE, KEY_REPORT_VIEW.ID.gt(floor))) {
+      reports.filter(report -> !recentIds.contains(report.getId())).forEach(report -> {
+        StatsKey key = key(report);
+        stats.put(key, accumulators.computeIfAbsent(key, _ -> new Accumulator()).add(report).toStats());
+        see(report.getId());
+      });
+    }
+  }
+
+  private void see(int id) {
+    recentIds.add(id);
+    lastSeenId = Math.max(lastSeenId, id);
+    if (recentIds.first() <= lastSeenId - REORDER_WINDOW) {
+      recentIds.headSet(lastSeenId - REORDER_WINDOW, true).clear();
+    }
+  }
+
+  private static StatsKey key(KeyReportViewRecord report) {
+    return new StatsKey(report.getKeyId(), report.getGameMode());
+  }
+
+  public record KeyStats(long reports, double meanValue, double medianValue, double p90Value, double profit) {
+
+    private static final KeyStats EMPTY = new KeyStats(0, 0, 0, 0, 0);
+
+  }
+
+  private record StatsKey(int keyId, GameMode gameMode) {
+
+  }
+
+  private static final class Accumulator {
+
+    private final ValueSketch values = new ValueSketch();
+
+    private double pricePerUseSum;
+
+    private long priced;
+
+    private Accumulator add(KeyReportViewRecord report) {
+      values.add(report.getValue() == null ? 0 : report.getValue());
+      if (report.getKeyPrice() != null && report.getUses() != null && report.getUses() > 0) {
+        pricePerUseSum += report.getKeyPrice() / (double) report.getUses();
+        priced++;
+      }
+      return this;
+    }
+
+    private Accumulator merge(Accumulator other) {
+      values.merge(other.values);
+      pricePerUseSum += other.pricePerUseSum;
+      priced += other.priced;
+      return this;
+    }
+
+    private long count() {
+      return values.count();
+    }
+
+    private KeyStats toStats() {
+      double meanValue = values.mean();
+      double pricePerUse = priced == 0 ? 0 : pricePerUseSum / priced;
+      return new KeyStats(values.count(), meanValue, values.quantile(0.5), values.quantile(0.9), meanValue - pricePerUse);
+    }
+
+  }
+
+}
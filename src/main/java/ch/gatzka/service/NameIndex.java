@@ -0,0 +1,141 @@
+package ch.gatzka.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+final class NameIndex {
+
+  private static final int GRAM_LENGTH = 3;
+
+  private static final int[] NO_POSITIONS = new int[0];
+
+  private final int[] ids;
+
+  private final String[] names;
+
+  private final Map<String, int[]> postings;
+
+  NameIndex(List<Integer> ids, IntFunction<String> nameLookup) {
+    this.ids = ids.stream().mapToInt(Integer::intValue).toArray();
+    this.names = new String[this.ids.length];
+    Map<String, List<Integer>> positions = new HashMap<>();
+    for (int position = 0; position < this.ids.length; position++) {
+      String name = normalize(nameLookup.apply(this.ids[position]));
+      names[position] = name;
+      for (int length = 1; length <= GRAM_LENGTH; length++) {
+        for (String gram : grams(name, length)) {
+          positions.computeIfAbsent(gram, _ -> new ArrayList<>()).add(position);
+        }
+      }
+    }
+    Map<String, int[]> postings = HashMap.newHashMap(positions.size());
+    positions.forEach((gram, list) -> postings.put(gram, list.stream().mapToInt(Integer::intValue).toArray()));
+    this.postings = Map.copyOf(postings);
+  }
+
+  List<Integer> search(String query) {
+    String normalized = normalize(query);
+    if (normalized.isEmpty()) {
+      return Arrays.stream(ids).boxed().toList();
+    }
+    Set<String> grams = grams(normalized, Math.min(GRAM_LENGTH, normalized.length()));
+    int[] candidates = intersect(grams);
+    List<Integer> matches = new ArrayList<>();
+    for (int position : candidates) {
+      if (names[position].contains(normalized)) {
+        matches.add(position);
+      }
+    }
+    if (matches.isEmpty() && normalized.length() > GRAM_LENGTH) {
+      return fuzzy(grams);
+    }
+    matches.sort(Comparator.comparingInt(position -> rank(names[position], normalized)));
+    return matches.stream().map(position -> ids[position]).toList();
+  }
+
+  private int[] intersect(Set<String> grams) {
+    List<int[]> lists = new ArrayList<>(grams.size());
+    for (String gram : grams) {
+      int[] list = postings.get(gram);
+      if (list == null) {
+        return NO_POSITIONS;
+      }
+      lists.add(list);
+    }
+    lists.sort(Comparator.comparingInt(list -> list.length));
+    int[] result = lists.getFirst();
+    for (int index = 1; index < lists.size() && result.length > 0; index++) {
+      result = intersect(result, lists.get(index));
+    }
+    return result;
+  }
+
+  private static int[] intersect(int[] left, int[] right) {
+    int[] result = new int[Math.min(left.length, right.length)];
+    int size = 0;
+    int i = 0;
+    int j = 0;
+    while (i < left.length && j < right.length) {
+      if (left[i] < right[j]) {
+        i++;
+      } else if (left[i] > right[j]) {
+        j++;
+      } else {
+        result[size++] = left[i];
+        i++;
+        j++;
+      }
+    }
+    return Arrays.copyOf(result, size);
+  }
+
+  private List<Integer> fuzzy(Set<String> grams) {
+    int[] hits = new int[ids.length];
+    List<Integer> matched = new ArrayList<>();
+    for (String gram : grams) {
+      for (int position : postings.getOrDefault(gram, NO_POSITIONS)) {
+        if (hits[position]++ == 0) {
+          matched.add(position);
+        }
+      }
+    }
+    int required = (grams.size() + 1) / 2;
+    return matched.stream()
+        .filter(position -> hits[position] >= required)
+        .sorted(Comparator.<Integer>comparingInt(position -> -hits[position]).thenComparingInt(position -> position))
+        .map(position -> ids[position])
+        .toList();
+  }
+
+  private static int rank(String name, String query) {
+    if (name.equals(query)) {
+      return 0;
+    }
+    if (name.startsWith(query)) {
+      return 1;
+    }
+    int index = name.indexOf(query);
+    return Character.isLetterOrDigit(name.charAt(index - 1)) ? 3 : 2;
+  }
+
+  private static Set<String> grams(String value, int length) {
+    Set<String> grams = new LinkedHashSet<>();
+    for (int index = 0; index + length <= value.length(); index++) {
+      grams.add(value.substring(index, index + length));
+    }
+    return grams;
+  }
+
+  private static String normalize(String value) {
+    return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+  }
+
+}
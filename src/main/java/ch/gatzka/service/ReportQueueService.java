@@ -0,0 +1,250 @@
+package ch.gatzka.service;
+
+import ch.gatzka.service.ReportSubmissionService.Submission;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+public class ReportQueueService implements DisposableBean {
+
+  private static final String ENQUEUED = "ENQ ";
+
+  private static final String ACKNOWLEDGED = "ACK ";
+
+  private static final long RETRY_DELAY_MILLIS = 5_000;
+
+  private final ReportSubmissionService reportSubmissionService;
+
+  private final ObjectMapper objectMapper;
+
+  private final boolean async;
+
+  private final Path journalPath;
+
+  private final Path rejectPath;
+
+  private final int maxAttempts;
+
+  private final int batchSize;
+
+  private final Duration offerTimeout;
+
+  private final int queueCapacity;
+
+  private final Semaphore capacity;
+
+  private final BlockingQueue<Submission> queue = new LinkedBlockingQueue<>();
+
+  private FileChannel journal;
+
+  private volatile boolean running = true;
+
+  public ReportQueueService(ReportSubmissionService reportSubmissionService, ObjectMapper objectMapper,
+      @Value("${tarkov-keytool.reports.async}") boolean async, @Value("${tarkov-keytool.reports.journal}") Path journalPath,
+      @Value("${tarkov-keytool.reports.queue-capacity}") int queueCapacity,
+      @Value("${tarkov-keytool.reports.batch-size}") int batchSize,
+      @Value("${tarkov-keytool.reports.offer-timeout}") Duration offerTimeout,
+      @Value("${tarkov-keytool.reports.rejected}") Path rejectPath, @Value("${tarkov-keytool.reports.max-attempts}") int maxAttempts) {
+    this.reportSubmissionService = reportSubmissionService;
+    this.objectMapper = objectMapper;
+    this.async = async;
+    this.journalPath = journalPath;
+    this.rejectPath = rejectPath;
+    this.maxAttempts = maxAttempts;
+    this.batchSize = batchSize;
+    this.offerTimeout = offerTimeout;
+    this.queueCapacity = queueCapacity;
+    this.capacity = new Semaphore(queueCapacity);
+  }
+
+  @PostConstruct
+  void start() throws IOException {
+    if (!async) {
+      return;
+    }
+    List<Submission> pending = compactJournal();
+    journal = FileChannel.open(journalPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    Thread.ofVirtual().name("report-writer").start(this::write);
+    if (!pending.isEmpty()) {
+      log.info("Replaying {} queued key reports from {}", pending.size(), journalPath);
+    }
+    for (Submission submission : pending) {
+      capacity.acquireUninterruptibly();
+      queue.add(submission);
+    }
+  }
+
+  public void submit(Submission submission) {
+    if (!async) {
+      reportSubmissionService.submit(submission);
+      return;
+    }
+    try {
+      if (!capacity.tryAcquire(offerTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+        throw new IllegalStateException("Report queue is full, try again later");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while queueing report", e);
+    }
+    try {
+      append(ENQUEUED + objectMapper.writeValueAsString(submission));
+    } catch (IOException e) {
+      capacity.release();
+      throw new UncheckedIOException("Error journaling report " + submission.submissionId(), e);
+    }
+    queue.add(submission);
+  }
+
+  @Override
+  public void destroy() throws IOException {
+    running = false;
+    if (journal != null) {
+      synchronized (this) {
+        journal.close();
+      }
+    }
+  }
+
+  private void write() {
+    List<Submission> batch = new ArrayList<>(batchSize);
+    while (running) {
+      try {
+        Submission first = queue.poll(1, TimeUnit.SECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        queue.drainTo(batch, batchSize - 1);
+        flush(batch);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+      batch.clear();
+    }
+  }
+
+  private void flush(List<Submission> batch) throws InterruptedException {
+    try {
+      reportSubmissionService.submitAll(batch);
+      acknowledge(batch);
+    } catch (RuntimeException e) {
+      log.error("Error writing {} queued key reports, retrying them one by one", batch.size(), e);
+      for (Submission submission : batch) {
+        flush(submission);
+      }
+    }
+  }
+
+  private void flush(Submission submission) throws InterruptedException {
+    for (int attempt = 1; running; attempt++) {
+      try {
+        reportSubmissionService.submit(submission);
+        acknowledge(List.of(submission));
+        return;
+      } catch (RuntimeException e) {
+        if (attempt >= maxAttempts) {
+          reject(submission, e);
+          return;
+        }
+        log.warn("Error writing queued key report {}, retrying in {} ms", submission.submissionId(), RETRY_DELAY_MILLIS, e);
+        Thread.sleep(RETRY_DELAY_MILLIS);
+      }
+    }
+  }
+
+  private void reject(Submission submission, RuntimeException cause) {
+    log.error("Giving up on key report {} after {} attempts, moving it to {}", submission.submissionId(), maxAttempts, rejectPath, cause);
+    try {
+      Files.writeString(rejectPath, objectMapper.writeValueAsString(submission) + "\n", StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+          StandardOpenOption.APPEND);
+    } catch (IOException e) {
+      log.error("Error writing rejected key report {} to {}", submission.submissionId(), rejectPath, e);
+    }
+    acknowledge(List.of(submission));
+  }
+
+  private void acknowledge(List<Submission> batch) {
+    try {
+      StringBuilder lines = new StringBuilder();
+      batch.forEach(submission -> lines.append(ACKNOWLEDGED).append(submission.submissionId()).append('\n'));
+      append(lines.substring(0, lines.length() - 1));
+    } catch (IOException e) {
+      // the reports are written, replaying them is harmless because they are skipped by submission id
+      log.error("Error acknowledging {} key reports in the journal", batch.size(), e);
+    } finally {
+      capacity.release(batch.size());
+    }
+    truncateIfDrained();
+  }
+
+  private synchronized void append(String line) throws IOException {
+    journal.write(ByteBuffer.wrap((line + "\n").getBytes(StandardCharsets.UTF_8)));
+    journal.force(false);
+  }
+
+  private synchronized void truncateIfDrained() {
+    if (capacity.availablePermits() == queueCapacity) {
+      try {
+        journal.truncate(0);
+      } catch (IOException e) {
+        log.warn("Error truncating report journal {}", journalPath, e);
+      }
+    }
+  }
+
+  private List<Submission> compactJournal() throws IOException {
+    if (!Files.exists(journalPath)) {
+      Files.createDirectories(journalPath.toAbsolutePath().getParent());
+      return List.of();
+    }
+    Map<UUID, Submission> pending = new LinkedHashMap<>();
+    for (String line : Files.readAllLines(journalPath, StandardCharsets.UTF_8)) {
+      if (line.startsWith(ENQUEUED)) {
+        try {
+          Submission submission = objectMapper.readValue(line.substring(ENQUEUED.length()), Submission.class);
+          pending.put(submission.submissionId(), submission);
+        } catch (IOException e) {
+          // a torn last line from a crash was never acknowledged to the user
+          log.warn("Skipping unreadable report journal entry", e);
+        }
+      } else if (line.startsWith(ACKNOWLEDGED)) {
+        pending.remove(UUID.fromString(line.substring(ACKNOWLEDGED.length()).trim()));
+      }
+    }
+    Path compacted = journalPath.resolveSibling(journalPath.getFileName() + ".compact");
+    List<String> lines = new ArrayList<>();
+    for (Submission submission : pending.values()) {
+      lines.add(ENQUEUED + objectMapper.writeValueAsString(submission));
+    }
+    Files.write(compacted, lines, StandardCharsets.UTF_8);
+    Files.move(compacted, journalPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    return new ArrayList<>(pending.values());
+  }
+
+}
@@ -0,0 +1,99 @@
+package ch.gatzka.service;
+
+import static ch.gatzka.Tables.KEY_REPORT;
+import static ch.gatzka.Tables.KEY_REPORT_SUMMARY;
+import static ch.gatzka.Tables.LOOT_REPORT;
+
+import ch.gatzka.core.TableChangedEvent;
+import ch.gatzka.enums.GameMode;
+import ch.gatzka.table.KeyReportRepository;
+import ch.gatzka.table.KeyReportSummaryRepository;
+import ch.gatzka.table.LootReportRepository;
+import ch.gatzka.tables.records.LootReportRecord;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReportSubmissionService {
+
+  private final KeyReportRepository keyReportRepository;
+
+  private final LootReportRepository lootReportRepository;
+
+  private final KeyReportSummaryRepository keyReportSummaryRepository;
+
+  private final TransactionTemplate transactionTemplate;
+
+  private final ApplicationEventPublisher eventPublisher;
+
+  public SubmittedReport submit(Submission submission) {
+    SubmittedReport report = transactionTemplate.execute(_ -> {
+      SubmittedReport written = write(submission);
+      keyReportSummaryRepository.refreshReport(written.keyReportId());
+      return written;
+    });
+    eventPublisher.publishEvent(new TableChangedEvent(KEY_REPORT, LOOT_REPORT, KEY_REPORT_SUMMARY));
+    log.info("Saved key report {} with {} loot lines", report.keyReportId(), report.lootReportIds().size());
+    return report;
+  }
+
+  public List<SubmittedReport> submitAll(List<Submission> submissions) {
+    List<SubmittedReport> reports = transactionTemplate.execute(_ -> {
+      // replayed submissions may already have been written before a restart
+      Set<UUID> submitted = keyReportRepository.readSubmitted(submissions.stream().map(Submission::submissionId).toList());
+      List<SubmittedReport> written = submissions.stream()
+          .filter(submission -> !submitted.contains(submission.submissionId()))
+          .map(this::write)
+          .toList();
+      keyReportSummaryRepository.refreshReports(written.stream().map(SubmittedReport::keyReportId).toList());
+      return written;
+    });
+    if (!reports.isEmpty()) {
+      eventPublisher.publishEvent(new TableChangedEvent(KEY_REPORT, LOOT_REPORT, KEY_REPORT_SUMMARY));
+    }
+    log.info("Saved {} of {} queued key reports", reports.size(), submissions.size());
+    return reports;
+  }
+
+  private SubmittedReport write(Submission submission) {
+    Integer keyReportId = keyReportRepository.insertWithId(entity -> entity.setSubmissionId(submission.submissionId())
+        .setReportedBy(submission.accountId())
+        .setKeyId(submission.keyId())
+        .setGameMode(submission.gameMode())
+        .setReportedAt(submission.reportedAt())
+        .setKeyPrice(submission.keyPrice()));
+
+    List<Integer> lootReportIds = lootReportRepository.insertAllWithId(submission.loot()
+        .stream()
+        .map(line -> new LootReportRecord().setKeyReportId(keyReportId)
+            .setItemId(line.itemId())
+            .setCount(line.count())
+            .setValue(line.value()))
+        .toList());
+
+    return new SubmittedReport(keyReportId, lootReportIds);
+  }
+
+  public record Submission(UUID submissionId, int accountId, int keyId, GameMode gameMode, LocalDateTime reportedAt,
+      Integer keyPrice, List<LootLine> loot) {
+
+  }
+
+  public record LootLine(int itemId, int count, Integer value) {
+
+  }
+
+  public record SubmittedReport(int keyReportId, List<Integer> lootReportIds) {
+
+  }
+
+}
@@ -0,0 +1,75 @@
+package ch.gatzka.service;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+final class TagIndex {
+
+  private final List<String> dictionary;
+
+  private final Map<String, Short> codes;
+
+  private final String[] labels;
+
+  private final BitSet[] bitmaps;
+
+  TagIndex(Map<Short, String> tagNames, Map<Integer, Set<Short>> itemTags) {
+    int size = tagNames.keySet().stream().mapToInt(Short::intValue).max().orElse(-1) + 1;
+    this.labels = new String[size];
+    this.bitmaps = new BitSet[size];
+    Map<String, Short> codes = HashMap.newHashMap(tagNames.size());
+    tagNames.forEach((tagId, name) -> {
+      labels[tagId] = name;
+      bitmaps[tagId] = new BitSet();
+      codes.put(name, tagId);
+    });
+    itemTags.forEach((itemId, tagIds) -> tagIds.forEach(tagId -> bitmaps[tagId].set(itemId)));
+    this.codes = Map.copyOf(codes);
+    this.dictionary = tagNames.values().stream().sorted().toList();
+  }
+
+  List<String> tags() {
+    return dictionary;
+  }
+
+  String label(short tagId) {
+    return tagId >= 0 && tagId < labels.length ? labels[tagId] : null;
+  }
+
+  BitSet get(String tag) {
+    Short code = codes.get(tag);
+    return code == null ? new BitSet() : (BitSet) bitmaps[code].clone();
+  }
+
+  BitSet all(Collection<String> tags) {
+    BitSet result = null;
+    for (String tag : tags) {
+      Short code = codes.get(tag);
+      if (code == null) {
+        return new BitSet();
+      }
+      if (result == null) {
+        result = (BitSet) bitmaps[code].clone();
+      } else {
+        result.and(bitmaps[code]);
+      }
+    }
+    return result == null ? new BitSet() : result;
+  }
+
+  BitSet any(Collection<String> tags) {
+    BitSet result = new BitSet();
+    tags.stream().map(codes::get).filter(Objects::nonNull).forEach(code -> result.or(bitmaps[code]));
+    return result;
+  }
+
+  static List<Integer> ids(BitSet bitmap) {
+    return bitmap.stream().boxed().toList();
+  }
+
+}
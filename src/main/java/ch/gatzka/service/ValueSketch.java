@@ -0,0 +1,67 @@
+package ch.gatzka.service;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+// log bucketed quantile sketch, quantiles are within RELATIVE_ACCURACY of the true value and sketches merge losslessly
+final class ValueSketch {
+
+  private static final double RELATIVE_ACCURACY = 0.01;
+
+  private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+
+  private static final double LOG_GAMMA = Math.log(GAMMA);
+
+  private final TreeMap<Integer, Long> buckets = new TreeMap<>();
+
+  private long zeroCount;
+
+  private long count;
+
+  private double sum;
+
+  void add(double value) {
+    count++;
+    sum += value;
+    if (value <= 0) {
+      zeroCount++;
+    } else {
+      buckets.merge((int) Math.ceil(Math.log(value) / LOG_GAMMA), 1L, Long::sum);
+    }
+  }
+
+  ValueSketch merge(ValueSketch other) {
+    count += other.count;
+    sum += other.sum;
+    zeroCount += other.zeroCount;
+    other.buckets.forEach((index, bucketCount) -> buckets.merge(index, bucketCount, Long::sum));
+    return this;
+  }
+
+  long count() {
+    return count;
+  }
+
+  double mean() {
+    return count == 0 ? 0 : sum / count;
+  }
+
+  double quantile(double quantile) {
+    if (count == 0) {
+      return 0;
+    }
+    long rank = (long) (quantile * (count - 1));
+    if (rank < zeroCount) {
+      return 0;
+    }
+    long seen = zeroCount;
+    for (Map.Entry<Integer, Long> bucket : buckets.entrySet()) {
+      seen += bucket.getValue();
+      if (seen > rank) {
+        return 2 * Math.pow(GAMMA, bucket.getKey()) / (GAMMA + 1);
+      }
+    }
+    return 2 * Math.pow(GAMMA, buckets.lastKey()) / (GAMMA + 1);
+  }
+
+}
@@ -7,23 +7,32 @@ import ch.gatzka.Utils;
 import ch.gatzka.core.Repository;
 import ch.gatzka.enums.GameMode;
 import ch.gatzka.security.AuthenticatedAccount;
+import ch.gatzka.service.CatalogService;
+import ch.gatzka.service.ItemCatalog;
 import ch.gatzka.tables.records.ItemGridViewRecord;
 import ch.gatzka.view.core.FilteredGridView;
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
+import com.vaadin.flow.component.checkbox.Checkbox;
+import com.vaadin.flow.component.combobox.MultiSelectComboBox;
 import com.vaadin.flow.component.grid.Grid;
 import com.vaadin.flow.component.html.Span;
 import com.vaadin.flow.component.icon.Icon;
 import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.data.value.ValueChangeMode;
+import com.vaadin.flow.dom.Style;
 import com.vaadin.flow.router.Menu;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.server.auth.AnonymousAllowed;
 import com.vaadin.flow.theme.lumo.LumoIcon;
+import java.util.List;
+import java.util.Set;
+import org.jooq.SortField;
 import org.vaadin.lineawesome.LineAwesomeIconUrl;
 
 @PageTitle("Items")
@@ -32,8 +41,12 @@ import org.vaadin.lineawesome.LineAwesomeIconUrl;
 @AnonymousAllowed
 public class ItemView extends FilteredGridView<ItemGridViewRecord> {
 
-  protected ItemView(Repository<ItemGridViewRecord> repository, AuthenticatedAccount authenticatedAccount) {
+  private final CatalogService catalogService;
+
+  protected ItemView(Repository<ItemGridViewRecord> repository, AuthenticatedAccount authenticatedAccount,
+      CatalogService catalogService) {
     super(repository, authenticatedAccount);
+    this.catalogService = catalogService;
     createView();
   }
 
@@ -42,12 +55,39 @@ public class ItemView extends FilteredGridView<ItemGridViewRecord> {
     return ItemGridViewRecord.class;
   }
 
+  @Override
+  protected List<SortField<?>> getDefaultOrder() {
+    return List.of(ITEM_GRID_VIEW.NAME.asc(), ITEM_GRID_VIEW.ITEM_ID.asc());
+  }
+
   @Override
   protected Component[] createFilters() {
     TextField nameField = new TextField("Name");
     nameField.setWidthFull();
+    nameField.setValueChangeMode(ValueChangeMode.LAZY);
     nameField.addValueChangeListener(event -> setFilter("name", event.getValue(), value -> ITEM_GRID_VIEW.NAME.likeIgnoreCase("%" + value + "%")));
-    return new Component[]{nameField};
+
+    MultiSelectComboBox<String> tagsField = new MultiSelectComboBox<>("Tags");
+    tagsField.setWidthFull();
+    tagsField.setItems(catalogService.getCatalog(gameMode).getTags());
+    tagsField.setItemLabelGenerator(tag -> tag.replace("_", " "));
+    tagsField.setClearButtonVisible(true);
+
+    Checkbox matchAll = new Checkbox("Match all tags");
+    matchAll.setWidthFull();
+    matchAll.setValue(true);
+    matchAll.getStyle().setAlignSelf(Style.AlignSelf.END);
+
+    tagsField.addValueChangeListener(_ -> setTagFilter(tagsField.getValue(), matchAll.getValue()));
+    matchAll.addValueChangeListener(_ -> setTagFilter(tagsField.getValue(), matchAll.getValue()));
+    return new Component[]{nameField, tagsField, matchAll};
+  }
+
+  private void setTagFilter(Set<String> tags, boolean matchAll) {
+    setFilter("tags", tags.isEmpty() ? null : tags, selected -> {
+      ItemCatalog catalog = catalogService.getCatalog(gameMode);
+      return ITEM_GRID_VIEW.ITEM_ID.in(matchAll ? catalog.itemsWithAllTags(selected) : catalog.itemsWithAnyTag(selected));
+    });
   }
 
   @Override
@@ -77,8 +117,13 @@ public class ItemView extends FilteredGridView<ItemGridViewRecord> {
         .setHeader("Trader price");
 
     grid.addComponentColumn(entry -> {
+      ItemCatalog catalog = catalogService.getCatalog(gameMode);
       HorizontalLayout layout = new HorizontalLayout();
-      for (String tag : entry.getTags()) {
+      for (short tagId : entry.getTagIds()) {
+        String tag = catalog.tagName(tagId);
+        if (tag == null) {
+          continue;
+        }
         Span badge = new Span(new Span(tag.replace("_", " ")));
         badge.getElement().getThemeList().add("badge");
         layout.add(badge);
@@ -6,8 +6,10 @@ import ch.gatzka.Utils;
 import ch.gatzka.core.Repository;
 import ch.gatzka.enums.GameMode;
 import ch.gatzka.security.AuthenticatedAccount;
+import ch.gatzka.service.CatalogService;
+import ch.gatzka.service.ItemCatalog;
+import ch.gatzka.service.KeyStatsService;
 import ch.gatzka.tables.records.KeyGridViewRecord;
-import ch.gatzka.tables.records.LocationViewRecord;
 import ch.gatzka.view.core.FilteredGridView;
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.combobox.ComboBox;
@@ -15,10 +17,13 @@ import com.vaadin.flow.component.grid.Grid;
 import com.vaadin.flow.component.html.Span;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.data.value.ValueChangeMode;
 import com.vaadin.flow.router.Menu;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.server.auth.AnonymousAllowed;
+import java.util.List;
+import org.jooq.SortField;
 import org.vaadin.lineawesome.LineAwesomeIconUrl;
 
 @PageTitle("Keys")
@@ -27,12 +32,15 @@ import org.vaadin.lineawesome.LineAwesomeIconUrl;
 @AnonymousAllowed
 public class KeyView extends FilteredGridView<KeyGridViewRecord> {
 
-  private final LocationViewRepository locationViewRepository;
+  private final CatalogService catalogService;
+
+  private final KeyStatsService keyStatsService;
 
   protected KeyView(Repository<KeyGridViewRecord> repository, AuthenticatedAccount authenticatedAccount,
-      LocationViewRepository locationViewRepository) {
+      CatalogService catalogService, KeyStatsService keyStatsService) {
     super(repository, authenticatedAccount);
-    this.locationViewRepository = locationViewRepository;
+    this.catalogService = catalogService;
+    this.keyStatsService = keyStatsService;
     createView();
   }
 
@@ -41,17 +49,24 @@ public class KeyView extends FilteredGridView<KeyGridViewRecord> {
     return KeyGridViewRecord.class;
   }
 
+  @Override
+  protected List<SortField<?>> getDefaultOrder() {
+    return List.of(KEY_GRID_VIEW.NAME.asc(), KEY_GRID_VIEW.ITEM_ID.asc());
+  }
+
   @Override
   protected Component[] createFilters() {
     TextField nameField = new TextField("Name");
     nameField.setWidthFull();
+    nameField.setValueChangeMode(ValueChangeMode.LAZY);
     nameField.addValueChangeListener(event -> setFilter("name", event.getValue(), value -> KEY_GRID_VIEW.NAME.likeIgnoreCase("%" + value + "%")));
 
-    ComboBox<LocationViewRecord> locationField = new ComboBox<>("Location");
+    ComboBox<String> locationField = new ComboBox<>("Location");
     locationField.setWidthFull();
-    locationField.setItems(locationViewRepository.read());
-    locationField.setItemLabelGenerator(LocationViewRecord::getClean);
-    locationField.addValueChangeListener(event -> setFilter("location", event.getValue(), entry -> KEY_GRID_VIEW.TAGS.contains(new String[]{entry.getLocation()})));
+    locationField.setItems(catalogService.getCatalog(gameMode).getLocations());
+    locationField.setItemLabelGenerator(location -> location.replace("_", " "));
+    locationField.addValueChangeListener(event -> setFilter("location", event.getValue(), location -> KEY_GRID_VIEW.ITEM_ID.in(catalogService.getCatalog(gameMode)
+        .keysAt(location))));
     locationField.setClearButtonVisible(true);
 
     return new Component[]{nameField, locationField};
@@ -64,9 +79,11 @@ public class KeyView extends FilteredGridView<KeyGridViewRecord> {
     grid.addColumn("name").setHeader("Name");
 
     grid.addComponentColumn(entry -> {
+      ItemCatalog catalog = catalogService.getCatalog(gameMode);
       HorizontalLayout layout = new HorizontalLayout();
-      for (String tag : entry.getTags()) {
-        if (tag.equals("Keys")) {
+      for (short tagId : entry.getTagIds()) {
+        String tag = catalog.tagName(tagId);
+        if (tag == null || tag.equals("Keys")) {
           continue;
         }
         Span badge = new Span(new Span(tag.replace("_", " ")));
@@ -75,6 +92,16 @@ public class KeyView extends FilteredGridView<KeyGridViewRecord> {
       }
       return layout;
     }).setHeader("Tags");
+
+    grid.addColumn(entry -> keyStatsService.getStats(entry.getItemId(), gameMode).reports()).setHeader("Reports").setSortable(false);
+    grid.addColumn(Utils.roubleRenderer(entry -> Math.round(keyStatsService.getStats(entry.getItemId(), gameMode).meanValue())))
+        .setHeader("Mean Value").setSortable(false);
+    grid.addColumn(Utils.roubleRenderer(entry -> Math.round(keyStatsService.getStats(entry.getItemId(), gameMode).medianValue())))
+        .setHeader("Median Value").setSortable(false);
+    grid.addColumn(Utils.roubleRenderer(entry -> Math.round(keyStatsService.getStats(entry.getItemId(), gameMode).p90Value())))
+        .setHeader("P90 Value").setSortable(false);
+    grid.addColumn(Utils.roubleRenderer(entry -> Math.round(keyStatsService.getStats(entry.getItemId(), gameMode).profit())))
+        .setHeader("Profit").setSortable(false);
   }
 
 }
@@ -3,12 +3,10 @@ package ch.gatzka.view;
 import ch.gatzka.Utils;
 import ch.gatzka.enums.GameMode;
 import ch.gatzka.security.AuthenticatedAccount;
-import ch.gatzka.service.ItemValueService;
-import ch.gatzka.table.ItemRepository;
-import ch.gatzka.table.KeyReportRepository;
-import ch.gatzka.table.LootReportRepository;
-import ch.gatzka.tables.records.ItemRecord;
-import ch.gatzka.tables.records.KeyViewRecord;
+import ch.gatzka.service.CatalogService;
+import ch.gatzka.service.ItemCatalog;
+import ch.gatzka.service.ReportQueueService;
+import ch.gatzka.service.ReportSubmissionService;
 import ch.gatzka.view.model.LootModel;
 import com.vaadin.flow.component.ClickEvent;
 import com.vaadin.flow.component.Component;
@@ -31,8 +29,10 @@ import com.vaadin.flow.router.Menu;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import jakarta.annotation.security.RolesAllowed;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 import java.util.function.Consumer;
 import org.vaadin.lineawesome.LineAwesomeIconUrl;
 
@@ -42,7 +42,7 @@ import org.vaadin.lineawesome.LineAwesomeIconUrl;
 @RolesAllowed("USER")
 public class ReportView extends VerticalLayout {
 
-  private final KeyViewRepository keyViewRepository;
+  private final CatalogService catalogService;
 
   private final AuthenticatedAccount authenticatedAccount;
 
@@ -52,45 +52,39 @@ public class ReportView extends VerticalLayout {
 
   private final Grid<LootModel> grid = Utils.defaultStripedGrid(LootModel.class);
 
-  private final List<ItemRecord> items;
+  private final ComboBox<Integer> keyField = new ComboBox<>("Select key");
 
-  private final ItemValueService itemValueService;
+  private final ReportQueueService reportQueueService;
 
-  private final ComboBox<KeyViewRecord> keyField = new ComboBox<>("Select key");
-
-  private final KeyReportRepository keyReportRepository;
-
-  private final LootReportRepository lootReportRepository;
-
-  public ReportView(KeyViewRepository keyViewRepository, AuthenticatedAccount authenticatedAccount,
-      ItemRepository itemRepository, ItemValueService itemValueService, KeyReportRepository keyReportRepository,
-      LootReportRepository lootReportRepository) {
-    this.keyViewRepository = keyViewRepository;
+  public ReportView(CatalogService catalogService, AuthenticatedAccount authenticatedAccount,
+      ReportQueueService reportQueueService) {
+    this.catalogService = catalogService;
     this.authenticatedAccount = authenticatedAccount;
     this.gameMode = authenticatedAccount.getAccount().getGameMode();
-    this.items = itemRepository.read();
-    this.keyReportRepository = keyReportRepository;
-    this.lootReportRepository = lootReportRepository;
+    this.reportQueueService = reportQueueService;
 
     setSizeFull();
 
     createHeader();
     createGrid();
     createFooter();
-    this.itemValueService = itemValueService;
+  }
+
+  private ItemCatalog catalog() {
+    return catalogService.getCatalog(gameMode);
   }
 
   private void createHeader() {
     keyField.setWidthFull();
-    keyField.setItems(keyViewRepository.read());
-    keyField.setItemLabelGenerator(entry -> "%s - %s uses".formatted(entry.getName(), entry.getUses()));
+    Utils.setSearchItems(keyField, query -> catalog().searchKeys(query));
+    keyField.setItemLabelGenerator(entry -> "%s - %s uses".formatted(catalog().name(entry), catalog().uses(entry)));
     keyField.setRenderer(new ComponentRenderer<>(entry -> {
-      Component image = Utils.createImageRenderer(entry, KeyViewRecord::getIconLink, KeyViewRecord::getName);
+      Component image = Utils.createImageRenderer(entry, catalog()::iconLink, catalog()::name);
 
-      Span name = new Span(entry.getName());
+      Span name = new Span(catalog().name(entry));
       name.getStyle().setFontWeight(Style.FontWeight.BOLD);
 
-      Span uses = new Span("%s uses".formatted(entry.getUses()));
+      Span uses = new Span("%s uses".formatted(catalog().uses(entry)));
       uses.getStyle().setFontWeight(Style.FontWeight.LIGHTER);
 
       VerticalLayout layout = new VerticalLayout(name, uses);
@@ -112,19 +106,19 @@ public class ReportView extends VerticalLayout {
     grid.addColumn("name").setHeader("Name");
     grid.addColumn("count").setHeader("Count");
 
-    grid.addColumn(entry -> itemValueService.itemValue(entry.getItem(), gameMode) * entry.getCount())
-        .setRenderer(Utils.roubleRenderer(entry -> itemValueService.itemValue(entry.getItem(), gameMode) * entry.getCount()))
+    grid.addColumn(entry -> catalog().value(entry.getItemId()) * entry.getCount())
+        .setRenderer(Utils.roubleRenderer(entry -> catalog().value(entry.getItemId()) * entry.getCount()))
         .setHeader("Value");
 
     grid.addComponentColumn((ValueProvider<LootModel, Component>) lootModel -> {
       Button buttonAdd = new Button(VaadinIcon.PLUS.create());
-      buttonAdd.addClickListener(_ -> addLoot(new LootModel(lootModel.getItem(), lootModel.getCount() + 1)));
+      buttonAdd.addClickListener(_ -> addLoot(new LootModel(catalog(), lootModel.getItemId(), lootModel.getCount() + 1)));
 
       Button buttonRemove = new Button(VaadinIcon.MINUS.create());
-      buttonRemove.addClickListener(_ -> addLoot(new LootModel(lootModel.getItem(), lootModel.getCount() - 1)));
+      buttonRemove.addClickListener(_ -> addLoot(new LootModel(catalog(), lootModel.getItemId(), lootModel.getCount() - 1)));
 
       Button buttonTrash = new Button(VaadinIcon.TRASH.create());
-      buttonTrash.addClickListener(_ -> addLoot(new LootModel(lootModel.getItem(), 0)));
+      buttonTrash.addClickListener(_ -> addLoot(new LootModel(catalog(), lootModel.getItemId(), 0)));
 
       return new HorizontalLayout(buttonAdd, buttonRemove, buttonTrash);
     }).setHeader("Actions");
@@ -160,9 +154,9 @@ public class ReportView extends VerticalLayout {
 
   private void addLoot(LootModel lootModel) {
     if (lootModel.getCount() <= 0) {
-      list.removeIf(loot -> loot.getItem().equals(lootModel.getItem()));
-    } else if (list.stream().anyMatch(loot -> loot.getItem().equals(lootModel.getItem()))) {
-      list.removeIf(loot -> loot.getItem().equals(lootModel.getItem()));
+      list.removeIf(loot -> loot.getItemId() == lootModel.getItemId());
+    } else if (list.stream().anyMatch(loot -> loot.getItemId() == lootModel.getItemId())) {
+      list.removeIf(loot -> loot.getItemId() == lootModel.getItemId());
       list.add(lootModel);
     } else {
       list.add(lootModel);
@@ -182,12 +176,19 @@ public class ReportView extends VerticalLayout {
       return;
     }
 
-    Integer keyReportId = keyReportRepository.insertWithId(entity -> entity.setReportedBy(authenticatedAccount.getAccount()
-        .getId()).setKeyId(keyField.getValue().getItemId()).setGameMode(gameMode));
-
-    list.forEach(lootModel -> lootReportRepository.insert(entity -> entity.setItemId(lootModel.getItem().getId())
-        .setCount(lootModel.getCount())
-        .setKeyReportId(keyReportId)));
+    try {
+      ItemCatalog catalog = catalog();
+      int keyId = keyField.getValue();
+      reportQueueService.submit(new ReportSubmissionService.Submission(UUID.randomUUID(), authenticatedAccount.getAccount()
+          .getId(), keyId, gameMode, LocalDateTime.now(), catalog.fleaPrice(keyId), list.stream()
+          .map(lootModel -> new ReportSubmissionService.LootLine(lootModel.getItemId(), lootModel.getCount(), catalog.value(lootModel.getItemId())))
+          .toList()));
+    } catch (IllegalStateException e) {
+      Notification notification = new Notification(e.getMessage(), 3000, Notification.Position.MIDDLE);
+      notification.setThemeName("error");
+      notification.open();
+      return;
+    }
 
     Notification notification = new Notification("Report saved successfully", 3000, Notification.Position.MIDDLE);
     notification.setThemeName("success");
@@ -208,11 +209,11 @@ public class ReportView extends VerticalLayout {
     dialog.setWidth(30, Unit.PERCENTAGE);
     dialog.setMaxWidth(40, Unit.PERCENTAGE);
 
-    ComboBox<ItemRecord> selectItemBox = new ComboBox<>();
+    ComboBox<Integer> selectItemBox = new ComboBox<>();
     selectItemBox.setAutofocus(true);
     selectItemBox.setLabel("Item");
-    selectItemBox.setItems(items);
-    selectItemBox.setItemLabelGenerator(ItemRecord::getName);
+    Utils.setSearchItems(selectItemBox, query -> catalog().searchItems(query));
+    selectItemBox.setItemLabelGenerator(catalog()::name);
     selectItemBox.setWidth(100, Unit.PERCENTAGE);
     selectItemBox.setRequired(true);
     selectItemBox.setRequiredIndicatorVisible(true);
@@ -244,7 +245,7 @@ public class ReportView extends VerticalLayout {
         count.setInvalid(true);
       } else {
         count.setInvalid(false);
-        onSubmit.accept(new LootModel(selectItemBox.getValue(), count.getValue()));
+        onSubmit.accept(new LootModel(catalog(), selectItemBox.getValue(), count.getValue()));
         dialog.close();
       }
     });
@@ -1,17 +1,16 @@
 package ch.gatzka.view;
 
 import static ch.gatzka.Tables.KEY_REPORT_VIEW;
-import static ch.gatzka.Tables.KEY_VIEW;
 import static ch.gatzka.Tables.LOOT_REPORT_VIEW;
 
 import ch.gatzka.Utils;
 import ch.gatzka.core.Repository;
 import ch.gatzka.enums.GameMode;
 import ch.gatzka.security.AuthenticatedAccount;
+import ch.gatzka.service.CatalogService;
+import ch.gatzka.service.ItemCatalog;
 import ch.gatzka.table.WipeRepository;
 import ch.gatzka.tables.records.KeyReportViewRecord;
-import ch.gatzka.tables.records.KeyViewRecord;
-import ch.gatzka.tables.records.LocationViewRecord;
 import ch.gatzka.tables.records.LootReportViewRecord;
 import ch.gatzka.view.core.FilteredGridView;
 import com.vaadin.flow.component.Component;
@@ -35,9 +34,11 @@ import jakarta.annotation.security.RolesAllowed;
 import java.text.DecimalFormat;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.jooq.Result;
+import org.jooq.SortField;
 import org.jooq.impl.DSL;
 import org.vaadin.lineawesome.LineAwesomeIconUrl;
 
@@ -47,20 +48,16 @@ import org.vaadin.lineawesome.LineAwesomeIconUrl;
 @RolesAllowed("USER")
 public class ReportsView extends FilteredGridView<KeyReportViewRecord> {
 
-  private final KeyViewRepository keyViewRepository;
-
-  private final LocationViewRepository locationViewRepository;
+  private final CatalogService catalogService;
 
   private final LootReportViewRepository lootReportViewRepository;
 
   private final WipeRepository wipeRepository;
 
   protected ReportsView(Repository<KeyReportViewRecord> repository, AuthenticatedAccount authenticatedAccount,
-      KeyViewRepository keyViewRepository, LocationViewRepository locationViewRepository,
-      LootReportViewRepository lootReportViewRepository, WipeRepository wipeRepository) {
+      CatalogService catalogService, LootReportViewRepository lootReportViewRepository, WipeRepository wipeRepository) {
     super(repository, authenticatedAccount);
-    this.keyViewRepository = keyViewRepository;
-    this.locationViewRepository = locationViewRepository;
+    this.catalogService = catalogService;
     this.lootReportViewRepository = lootReportViewRepository;
     this.wipeRepository = wipeRepository;
 
@@ -74,6 +71,11 @@ public class ReportsView extends FilteredGridView<KeyReportViewRecord> {
     return KeyReportViewRecord.class;
   }
 
+  @Override
+  protected List<SortField<?>> getDefaultOrder() {
+    return KeyReportViewRepository.REPORT_ORDER;
+  }
+
   @Getter
   @RequiredArgsConstructor
   private enum HistoryMode {
@@ -84,17 +86,18 @@ public class ReportsView extends FilteredGridView<KeyReportViewRecord> {
 
   @Override
   protected Component[] createFilters() {
-    ComboBox<KeyViewRecord> keyField = new ComboBox<>("Key");
+    ItemCatalog catalog = catalogService.getCatalog(gameMode);
+    ComboBox<Integer> keyField = new ComboBox<>("Key");
     keyField.setWidthFull();
-    keyField.setItems(keyViewRepository.read());
-    keyField.setItemLabelGenerator(entry -> "%s - %s uses".formatted(entry.getName(), entry.getUses()));
+    Utils.setSearchItems(keyField, catalog::searchKeys);
+    keyField.setItemLabelGenerator(entry -> "%s - %s uses".formatted(catalog.name(entry), catalog.uses(entry)));
     keyField.setRenderer(new ComponentRenderer<>(entry -> {
-      Component image = Utils.createImageRenderer(entry, KeyViewRecord::getIconLink, KeyViewRecord::getName);
+      Component image = Utils.createImageRenderer(entry, catalog::iconLink, catalog::name);
 
-      Span name = new Span(entry.getName());
+      Span name = new Span(catalog.name(entry));
       name.getStyle().setFontWeight(Style.FontWeight.BOLD);
 
-      Span uses = new Span("%s uses".formatted(entry.getUses()));
+      Span uses = new Span("%s uses".formatted(catalog.uses(entry)));
       uses.getStyle().setFontWeight(Style.FontWeight.LIGHTER);
 
       VerticalLayout layout = new VerticalLayout(name, uses);
@@ -103,7 +106,7 @@ public class ReportsView extends FilteredGridView<KeyReportViewRecord> {
       return new HorizontalLayout(image, layout);
     }));
     keyField.setClearButtonVisible(true);
-    keyField.addValueChangeListener(event -> setFilter("key", event.getValue(), keyViewRecord -> KEY_REPORT_VIEW.KEY_ID.eq(keyViewRecord.getItemId())));
+    keyField.addValueChangeListener(event -> setFilter("key", event.getValue(), KEY_REPORT_VIEW.KEY_ID::eq));
 
     ComboBox<HistoryMode> historyMode = new ComboBox<>("History");
     historyMode.setWidthFull();
@@ -118,12 +121,13 @@ public class ReportsView extends FilteredGridView<KeyReportViewRecord> {
     }));
     historyMode.setValue(HistoryMode.SINCE_WIPE);
 
-    ComboBox<LocationViewRecord> locationField = new ComboBox<>("Location");
+    ComboBox<String> locationField = new ComboBox<>("Location");
     locationField.setWidthFull();
-    locationField.setItems(locationViewRepository.read());
-    locationField.setItemLabelGenerator(LocationViewRecord::getClean);
+    locationField.setItems(catalog.getLocations());
+    locationField.setItemLabelGenerator(location -> location.replace("_", " "));
     locationField.setClearButtonVisible(true);
-    locationField.addValueChangeListener(event -> setFilter("location", event.getValue(), entry -> KEY_REPORT_VIEW.TAGS.contains(new String[]{entry.getLocation()})));
+    locationField.addValueChangeListener(event -> setFilter("location", event.getValue(), location -> KEY_REPORT_VIEW.KEY_ID.in(catalogService.getCatalog(gameMode)
+        .keysAt(location))));
 
     Checkbox onlySelf = new Checkbox("Show only my reports");
     onlySelf.setWidthFull();
@@ -148,9 +152,11 @@ public class ReportsView extends FilteredGridView<KeyReportViewRecord> {
     grid.addColumn("value").setRenderer(Utils.roubleRenderer(KeyReportViewRecord::getValue)).setHeader("Total Value");
 
     grid.addComponentColumn(entry -> {
+      ItemCatalog catalog = catalogService.getCatalog(gameMode);
       HorizontalLayout layout = new HorizontalLayout();
-      for (String tag : entry.getTags()) {
-        if (tag.equals("Keys")) {
+      for (short tagId : entry.getTagIds()) {
+        String tag = catalog.tagName(tagId);
+        if (tag == null || tag.equals("Keys")) {
           continue;
         }
         Span badge = new Span(new Span(tag.replace("_", " ")));
@@ -183,9 +189,8 @@ public class ReportsView extends FilteredGridView<KeyReportViewRecord> {
     itemCountField.setReadOnly(true);
     itemCountField.setValue((double) totalItemsFound);
 
-    KeyViewRecord key = keyViewRepository.get(KEY_VIEW.ITEM_ID.eq(keyReport.getKeyId()));
-    int keyPrice = keyReport.getGameMode() == GameMode.PVP ? key.getPvpFleaPrice() : key.getPveFleaPrice();
-    int pricePerUse = keyPrice / key.getUses();
+    int keyPrice = keyReport.getKeyPrice() == null ? 0 : keyReport.getKeyPrice();
+    int pricePerUse = keyPrice / keyReport.getUses();
 
     TextField pricePerUseField = new TextField("Price per Use");
     pricePerUseField.setReadOnly(true);
@@ -222,9 +227,7 @@ public class ReportsView extends FilteredGridView<KeyReportViewRecord> {
 
     grid.addColumn("count").setHeader("Count");
 
-    grid.addColumn(keyReport.getGameMode() == GameMode.PVP ? "pvpValue" : "pveValue")
-        .setRenderer(Utils.roubleRenderer(keyReport.getGameMode() == GameMode.PVP ? LootReportViewRecord::getPvpValue : LootReportViewRecord::getPveValue))
-        .setHeader("Value");
+    grid.addColumn("value").setRenderer(Utils.roubleRenderer(LootReportViewRecord::getValue)).setHeader("Value");
 
     grid.setItems(lootReports);
 
@@ -8,10 +8,23 @@ import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.grid.Grid;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.data.provider.Query;
+import com.vaadin.flow.data.provider.QuerySortOrder;
+import com.vaadin.flow.data.provider.SortDirection;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 import org.jooq.Condition;
+import org.jooq.Field;
+import org.jooq.Result;
+import org.jooq.SortField;
 import org.jooq.TableRecord;
 
 public abstract class FilteredGridView<T extends TableRecord<T>> extends VerticalLayout {
@@ -22,7 +35,11 @@ public abstract class FilteredGridView<T extends TableRecord<T>> extends Vertica
 
   protected final GameMode gameMode;
 
-  private final Map<String, Condition> filterConditions = new HashMap<>();
+  private final Map<String, Supplier<Condition>> filters = new HashMap<>();
+
+  private final Map<Integer, Object[]> seekPositions = new HashMap<>();
+
+  private List<SortField<?>> seekOrder;
 
   protected final AuthenticatedAccount authenticatedAccount;
 
@@ -32,11 +49,13 @@ public abstract class FilteredGridView<T extends TableRecord<T>> extends Vertica
     this.gameMode = authenticatedAccount.isAuthenticated() ? authenticatedAccount.getAccount()
         .getGameMode() : GameMode.PVP;
 
-    refreshGrid();
+    grid.setItems(this::fetch, _ -> repository.count(filterConditions()));
   }
 
   protected abstract Class<T> getBeanClass();
 
+  protected abstract List<SortField<?>> getDefaultOrder();
+
   protected void createView() {
     setSizeFull();
 
@@ -57,14 +76,55 @@ public abstract class FilteredGridView<T extends TableRecord<T>> extends Vertica
   protected abstract void createGridColumns(Grid<T> grid, GameMode gameMode);
 
   protected void refreshGrid() {
-    grid.setItems(repository.read(filterConditions.values()));
+    seekPositions.clear();
+    grid.getDataProvider().refreshAll();
+  }
+
+  private Stream<T> fetch(Query<T, Void> query) {
+    List<SortField<?>> orderBy = orderBy(query.getSortOrders());
+    if (!orderBy.equals(seekOrder)) {
+      seekPositions.clear();
+      seekOrder = orderBy;
+    }
+    int offset = query.getOffset();
+    Object[] lastSeen = seekPositions.get(offset);
+    List<Condition> conditions = filterConditions();
+    Result<T> page = offset == 0 || lastSeen != null ? repository.seek(orderBy, lastSeen, query.getLimit(), conditions)
+        : repository.read(conditions, orderBy, offset, query.getLimit());
+    if (!page.isEmpty()) {
+      Object[] values = repository.seekValues(orderBy, page.getLast());
+      if (Arrays.stream(values).noneMatch(Objects::isNull)) {
+        seekPositions.put(offset + page.size(), values);
+      }
+    }
+    return page.stream();
+  }
+
+  private List<Condition> filterConditions() {
+    return filters.values().stream().map(Supplier::get).toList();
+  }
+
+  private List<SortField<?>> orderBy(List<QuerySortOrder> sortOrders) {
+    List<SortField<?>> orderBy = new ArrayList<>();
+    for (QuerySortOrder sortOrder : sortOrders) {
+      Field<?> field = repository.getTable().field(toColumnName(sortOrder.getSorted()));
+      if (field != null) {
+        orderBy.add(sortOrder.getDirection() == SortDirection.ASCENDING ? field.asc() : field.desc());
+      }
+    }
+    orderBy.addAll(getDefaultOrder());
+    return orderBy;
+  }
+
+  private static String toColumnName(String property) {
+    return property.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase(Locale.ROOT);
   }
 
   protected <V> void setFilter(String filter, V newValue, Function<V, Condition> conditionMapping) {
     if (newValue == null) {
-      filterConditions.remove(filter);
+      filters.remove(filter);
     } else {
-      filterConditions.put(filter, conditionMapping.apply(newValue));
+      filters.put(filter, () -> conditionMapping.apply(newValue));
     }
     refreshGrid();
   }
@@ -1,12 +1,12 @@
 package ch.gatzka.view.model;
 
-import ch.gatzka.tables.records.ItemRecord;
+import ch.gatzka.service.ItemCatalog;
 import lombok.Getter;
 
 @Getter
 public class LootModel {
 
-  private final ItemRecord item;
+  private final int itemId;
 
   private final String name;
 
@@ -14,11 +14,11 @@ public class LootModel {
 
   private final int count;
 
-  public LootModel(ItemRecord item, int count) {
-    this.item = item;
+  public LootModel(ItemCatalog catalog, int itemId, int count) {
+    this.itemId = itemId;
     this.count = count;
-    this.iconLink = item.getIconLink();
-    this.name = item.getName();
+    this.iconLink = catalog.iconLink(itemId);
+    this.name = catalog.name(itemId);
   }
 
 }
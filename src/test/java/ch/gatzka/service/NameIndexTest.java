@@ -0,0 +1,74 @@
+package ch.gatzka.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class NameIndexTest {
+
+  private static NameIndex index(Map<Integer, String> names, Integer... ids) {
+    return new NameIndex(List.of(ids), names::get);
+  }
+
+  @Test
+  void ranksExactThenPrefixThenWordStartThenSubstring() {
+    NameIndex index = index(Map.of(1, "Factory key", 2, "Key tool", 3, "Keycard holder", 4, "Monkey", 5, "Key"), 1, 2, 3, 4, 5);
+
+    assertEquals(List.of(5, 2, 3, 1, 4), index.search("key"));
+  }
+
+  @Test
+  void keepsDisplayOrderBetweenEqualRanks() {
+    NameIndex index = index(Map.of(1, "Key tool", 2, "Keycard holder", 3, "Keyring"), 3, 1, 2);
+
+    assertEquals(List.of(3, 1, 2), index.search("key"));
+  }
+
+  @Test
+  void ignoresCaseAndSurroundingWhitespace() {
+    NameIndex index = index(Map.of(1, "Dorm room 114 key", 2, "Dorm room 314 key"), 1, 2);
+
+    assertEquals(List.of(2), index.search("  ROOM 314 "));
+  }
+
+  @Test
+  void searchesSingleCharacters() {
+    NameIndex index = index(Map.of(1, "Alpha", 2, "Box", 3, "Xeno"), 1, 2, 3);
+
+    assertEquals(List.of(3, 2), index.search("x"));
+  }
+
+  @Test
+  void searchesTwoCharacters() {
+    NameIndex index = index(Map.of(1, "Elbow", 2, "Box", 3, "Bolt cutter", 4, "Alpha"), 1, 2, 3, 4);
+
+    assertEquals(List.of(2, 3, 1), index.search("bo"));
+  }
+
+  @Test
+  void returnsNothingForUnknownShortQueries() {
+    NameIndex index = index(Map.of(1, "Alpha", 2, "Box"), 1, 2);
+
+    assertEquals(List.of(), index.search("z"));
+    assertEquals(List.of(), index.search("zz"));
+  }
+
+  @Test
+  void returnsEverythingInDisplayOrderForEmptyQueries() {
+    NameIndex index = index(Map.of(1, "Alpha", 2, "Box", 3, "Xeno"), 3, 1, 2);
+
+    assertEquals(List.of(3, 1, 2), index.search(""));
+    assertEquals(List.of(3, 1, 2), index.search("   "));
+    assertEquals(List.of(3, 1, 2), index.search(null));
+  }
+
+  @Test
+  void fallsBackToTrigramOverlapForTypos() {
+    NameIndex index = index(Map.of(1, "Monkey", 2, "Alpha"), 1, 2);
+
+    assertEquals(List.of(1), index.search("monkye"));
+  }
+
+}